@@ -1,9 +1,11 @@
 package com.kitap.agent;
 
 import com.kitap.agent.ui.initializer.AgentFxApplication;
+import com.kitap.agent.util.AgentConfig;
 import javafx.application.Application;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.util.StopWatch;
 
 /**
@@ -12,6 +14,7 @@ import org.springframework.util.StopWatch;
  */
 @Slf4j
 @SpringBootApplication
+@EnableScheduling
 public class KitapAgentApplication {
 
 	/**
@@ -22,6 +25,7 @@ public class KitapAgentApplication {
 		StopWatch stopWatch = new StopWatch();
 		stopWatch.start();
 		log.info("starting main method by launching JavaFX Application");
+		AgentConfig.watch();
 		Application.launch(AgentFxApplication.class, args);
 		log.info("completed main method execution");
 		stopWatch.stop();
@@ -1,43 +1,57 @@
 package com.kitap.agent.api.apicalls;
 
 import com.kitap.agent.util.PropertyReaderHelper;
+import com.kitap.agent.util.SpringContext;
 import com.kitap.agent.database.model.ApplicationUnderTest;
 import com.kitap.agent.database.model.dto.AgentDto;
 import com.kitap.agent.database.service.AUTService;
+import com.kitap.agent.execute.job.ExecutionJobDto;
 import com.kitap.testresult.dto.execute.ExecutionAutDetails;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
-import org.springframework.util.StopWatch;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
- * All the api call methods are defined here by extending BaseApiCall class
+ * All the api call methods are defined here by extending BaseApiCall class,
+ * the class is stateless so the single bean is shared by all the threads
  * @author KT1450
  */
 @Component
 @Slf4j
 public class ApiCalls extends BaseApiCall {
 
+    public ApiCalls(RestTemplate restTemplate) {
+        super(restTemplate);
+    }
+
+    /**
+     * Method returns the shared api calls bean, used by the classes which are not created by spring
+     * @return api calls
+     */
+    public static ApiCalls getInstance() {
+        return SpringContext.getBean(ApiCalls.class);
+    }
+
     /**
      * Api call to know agent is registered or not
      * @param macAddress unique physical address of system which cannot change
      * @return boolean whether agent is registered or not
      */
     public boolean amIRegistered(String macAddress) {
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
         log.info("amIRegistered apicall started");
         macAddress = macAddress.replace(" ", "%20");
-        baseUrl = baseServerUrl+ PropertyReaderHelper.getProperty("am.i.registered") + macAddress + "";
+        String url = baseServerUrl+ PropertyReaderHelper.getProperty("am.i.registered") + macAddress + "";
         log.info("mac address {}", macAddress);
-        log.info("api call url {}", baseUrl);
-        getResponse(macAddress, HttpMethod.GET);
-        log.info("agent registration status {}", responseBody.getBody());
+        ResponseEntity<Boolean> response = exchange(url, HttpMethod.GET, null, Boolean.class);
+        log.info("agent registration status {}", response.getBody());
         log.info("amIRegistered apicall completed with returning boolean");
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
-        return (boolean) responseBody.getBody();
+        return Boolean.TRUE.equals(response.getBody());
     }
 
     /**
@@ -46,19 +60,13 @@ public class ApiCalls extends BaseApiCall {
      * @return boolean to know whether the registration is successful or not
      */
     public boolean register(AgentDto agentDto, String agentRegistrationKey) {
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
         log.info("register apicall started");
         log.info(String.valueOf(agentDto));
-        baseUrl = baseServerUrl+ PropertyReaderHelper.getProperty("agent.register")+"?key="+agentRegistrationKey+"";
-        headers.set("key",agentRegistrationKey);
-        getResponse(agentDto);
-        log.info("agent registration status {}", responseBody.getStatusCode());
+        String url = baseServerUrl+ PropertyReaderHelper.getProperty("agent.register")+"?key="+agentRegistrationKey+"";
+        ResponseEntity<Void> response = exchange(url, HttpMethod.POST, agentDto, Map.of("key", agentRegistrationKey), Void.class);
+        log.info("agent registration status {}", response.getStatusCode());
         log.info("register apicall completed with returning boolean");
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
-        return responseBody.getStatusCode().value() == 201;
+        return response.getStatusCode().value() == 201;
     }
 
     /**
@@ -67,18 +75,13 @@ public class ApiCalls extends BaseApiCall {
      * @return boolean to know whether the deregistration is successful or not
      */
     public boolean deRegister(String macAddress) {
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
         log.info("deRegister apicall started");
         macAddress = macAddress.replace(" ", "%20");
-        baseUrl = baseServerUrl+ PropertyReaderHelper.getProperty("agent.deregister") + macAddress + "";
-        getResponse(macAddress, HttpMethod.PUT);
-        log.info(String.valueOf(responseBody.getStatusCode()));
+        String url = baseServerUrl+ PropertyReaderHelper.getProperty("agent.deregister") + macAddress + "";
+        ResponseEntity<Boolean> response = exchange(url, HttpMethod.PUT, macAddress, Boolean.class);
+        log.info(String.valueOf(response.getStatusCode()));
         log.info("deRegister apicall completed with returning boolean");
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
-        return Boolean.TRUE.equals(responseBody.getBody());
+        return Boolean.TRUE.equals(response.getBody());
     }
 
     /**
@@ -87,16 +90,11 @@ public class ApiCalls extends BaseApiCall {
      * @return responsebody aut
      */
     private String saveAUT(ApplicationUnderTest details) {
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
         log.info("saveAUT apicall started");
-        baseUrl = baseAgentUrl+ PropertyReaderHelper.getProperty("saveAUT");
-        getResponse(details);
+        String url = baseAgentUrl+ PropertyReaderHelper.getProperty("saveAUT");
+        ResponseEntity<String> response = exchange(url, HttpMethod.POST, details, String.class);
         log.info("saveAUT apicall completed with returning string");
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
-        return (String) responseBody.getBody();
+        return response.getBody();
     }
 
     /**
@@ -105,34 +103,62 @@ public class ApiCalls extends BaseApiCall {
      * @return String [] array of auts
      */
     public String[] getAllAUT(String autType) {
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
         log.info("getAllAUT apicall started");
         autType = autType.replace(" ", "%20");
-        baseUrl = baseAgentUrl+ PropertyReaderHelper.getProperty("getListOfAUT") + "?autType=" + autType + "";
-        getResponse(autType);
+        String url = baseAgentUrl+ PropertyReaderHelper.getProperty("getListOfAUT") + "?autType=" + autType + "";
+        ResponseEntity<String[]> response = exchange(url, HttpMethod.GET, null, String[].class);
         log.info("getAllAUT apicall completed with returning array of strings");
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
-        return (String[]) responseBody.getBody();
+        return response.getBody();
     }
 
     /**
-     * Method executes the test cases
+     * Method executes the test cases and waits until the queued execution job is finished
      * @param details execution details object
+     * @param browser browser to execute with
+     * @param isolated true to execute in a separate working copy, required for parallel executions
      */
-    public void executeTests(ExecutionAutDetails details){
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
+    public void executeTests(ExecutionAutDetails details, String browser, boolean isolated){
         log.info("executeTests apicall started");
-        baseUrl = baseAgentUrl+ PropertyReaderHelper.getProperty("executeTests");
-        getResponse(details);
-        log.info((String) responseBody.getBody());
+        String url = baseAgentUrl+ PropertyReaderHelper.getProperty("executeTests")
+                + "?browser=" + browser.replace(" ", "%20") + "&isolated=" + isolated;
+        String jobId = exchange(url, HttpMethod.POST, details, String.class).getBody();
+        log.info("execution job {} submitted", jobId);
+        ExecutionJobDto job = waitForJob(jobId);
+        log.info("execution job {} finished with status {}", jobId, job.getStatus());
         log.info("executeTests apicall completed");
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
+    }
+
+    /**
+     * Polls the status of an execution job until it is finished. A running job is waited for at most
+     * executionjobtimeout minutes after it started plus the kill grace period and two poll intervals,
+     * the time the agent needs to abort it and record the result
+     * @param jobId id of the execution job
+     * @return final state of the job
+     * @throws IllegalStateException when the job does not finish within that time
+     */
+    public ExecutionJobDto waitForJob(String jobId){
+        long pollInterval = Long.parseLong(PropertyReaderHelper.getProperty("jobpollinterval"));
+        long timeout = Long.parseLong(PropertyReaderHelper.getProperty("executionjobtimeout"));
+        long margin = Long.parseLong(PropertyReaderHelper.getProperty("processkillgraceperiod")) + 2 * pollInterval;
+        String url = baseAgentUrl+ PropertyReaderHelper.getProperty("getJobStatus") + jobId;
+        while (true) {
+            ExecutionJobDto job = exchange(url, HttpMethod.GET, null, ExecutionJobDto.class).getBody();
+            if (job != null && job.getStatus().isFinished()) {
+                return job;
+            }
+            if (job != null && job.getStartedAt() != null
+                    && ZonedDateTime.now().isAfter(job.getStartedAt().plusMinutes(timeout).plusSeconds(margin))) {
+                log.error("execution job {} did not finish within {} minutes", jobId, timeout);
+                throw new IllegalStateException("execution job " + jobId + " did not finish within " + timeout + " minutes");
+            }
+            log.info("execution job {} is {}", jobId, job == null ? "unknown" : job.getProgress());
+            try {
+                TimeUnit.SECONDS.sleep(pollInterval);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+        }
     }
 
     /**
@@ -142,14 +168,9 @@ public class ApiCalls extends BaseApiCall {
      * @return A string representing the result of saving the AUT.
      */
     public String saveAUT(String autName, String autType) {
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
         log.info("saveAUT method started");
         AUTService AUTService = new AUTService();
         log.info("saveAUT method completed with returning AUT details as string");
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
         return saveAUT(AUTService.getAUT(autName, autType));
     }
 
@@ -158,15 +179,10 @@ public class ApiCalls extends BaseApiCall {
      * @return A String array representing list of aut types
      */
     public String[] getAutTypes(){
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
         log.info("getAutTypes apicall started");
-        baseUrl = baseAgentUrl+ PropertyReaderHelper.getProperty("getAutTypes");
-        getResponse();
+        String url = baseAgentUrl+ PropertyReaderHelper.getProperty("getAutTypes");
+        ResponseEntity<String[]> response = exchange(url, HttpMethod.GET, null, String[].class);
         log.info("getAutTypes apicall completed with returning array of AUT types");
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
-        return (String[]) responseBody.getBody();
+        return response.getBody();
     }
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.kitap.agent.api.apicalls;
+
+import com.kitap.agent.metrics.ServerCallMetricsInterceptor;
+import com.kitap.agent.util.PropertyReaderHelper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Configures the http client shared by all the api calls, connections to the server are pooled and
+ * kept alive so the calls do not open a new connection every time
+ * @author KT1450
+ */
+@Slf4j
+@Configuration
+public class HttpClientConfig {
+
+    /**
+     * Pooled http client, closed with the application context
+     * @return http client
+     */
+    @Bean
+    public CloseableHttpClient httpClient() {
+        int maxConnections = Integer.parseInt(PropertyReaderHelper.getProperty("httpclientmaxconnections"));
+        int maxPerRoute = Integer.parseInt(PropertyReaderHelper.getProperty("httpclientmaxperroute"));
+        long keepAlive = Long.parseLong(PropertyReaderHelper.getProperty("httpclientkeepalive"));
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxPerRoute)
+                .build();
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(Long.parseLong(PropertyReaderHelper.getProperty("httpclientconnecttimeout"))))
+                .setResponseTimeout(Timeout.ofMilliseconds(Long.parseLong(PropertyReaderHelper.getProperty("httpclientreadtimeout"))))
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(Long.parseLong(PropertyReaderHelper.getProperty("httpclientconnecttimeout"))))
+                .build();
+        log.info("http client pool created with {} connections, {} per route", maxConnections, maxPerRoute);
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy((response, context) -> TimeValue.ofSeconds(keepAlive))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(keepAlive))
+                .build();
+    }
+
+    /**
+     * Rest template used by the api calls, sends the requests through the pooled http client
+     * @param builder rest template builder of spring boot
+     * @param httpClient pooled http client
+     * @return rest template
+     */
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder builder, CloseableHttpClient httpClient) {
+        return builder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
+                .additionalInterceptors(new ServerCallMetricsInterceptor(PropertyReaderHelper.getProperty("server.base.url")))
+                .build();
+    }
+}
@@ -2,15 +2,17 @@ package com.kitap.agent.api.controller;
 
 import com.kitap.agent.database.model.ApplicationUnderTest;
 import com.kitap.agent.database.repository.ApplicationUnderTestRepo;
-import com.kitap.agent.database.repository.ExecutedTestCaseRepository;
 import com.kitap.agent.database.service.AUTService;
-import com.kitap.agent.database.service.ResultSaver;
-import com.kitap.agent.execute.TestRunner;
+import com.kitap.agent.execute.ValidBrowsers;
+import com.kitap.agent.execute.job.ExecutionJobService;
 import com.kitap.testresult.dto.execute.ExecutionAutDetails;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.util.StopWatch;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Controller for operating the execution of tests
@@ -21,28 +23,36 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/v1")
 public class ExecutionController {
     @Autowired
-    ExecutedTestCaseRepository executedTestCaseRepository;
+    ExecutionJobService executionJobService;
     @Autowired
     ApplicationUnderTestRepo applicationUnderTestRepo;
 
     /**
-     * Method executes the test cases
+     * Method queues the execution of the test cases
      * @param details execution detail object
-     * @return String - saved to database
+     * @param browser browser to execute with, overrides the browser of serenity.properties when given,
+     *                must be one of the supportedBrowsers
+     * @param isolated true to execute in a separate working copy, used for parallel executions of a version
+     * @param timeout minutes after which the execution is aborted, the configured timeout is used when not given
+     * @return String - id of the queued execution job
      */
     @PostMapping("/execute")
-    public String execute(@RequestBody ExecutionAutDetails details) {
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
+    public String execute(@RequestBody ExecutionAutDetails details,
+                          @RequestParam(required = false) String browser,
+                          @RequestParam(defaultValue = "false") boolean isolated,
+                          @RequestParam(required = false) Long timeout) {
         log.info("execution API started with executionAutDetails");
-        TestRunner runner = new TestRunner(details);
-        ResultSaver saver = new ResultSaver(executedTestCaseRepository);
-        saver.save(runner.executeTests(), details);
-        log.info("execution API completed with returning saved to database message");
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
-        return "saved to database";
+        if (browser != null && !ValidBrowsers.isSupported(browser)) {
+            log.warn("{} is not a supported browser", browser);
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "browser is not supported");
+        }
+        try {
+            String jobId = executionJobService.submit(details, browser, isolated, timeout).getId();
+            log.info("execution API completed with returning job id " + jobId);
+            return jobId;
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "execution queue is full, please try again later");
+        }
     }
 
     /**
@@ -67,6 +77,19 @@ public class ExecutionController {
         return autService.getAllAUT(autType);
     }
 
+    /**
+     * Method updates the number of parallel shards used for executing an aut
+     * @param autName name of the aut
+     * @param autType type of the aut
+     * @param shardCount number of shards
+     * @return message from updateShardCount method of autService class
+     */
+    @PutMapping("/updateShardCount")
+    public String updateShardCount(@RequestParam String autName, @RequestParam String autType, @RequestParam int shardCount){
+        AUTService autService = new AUTService(applicationUnderTestRepo);
+        return autService.updateShardCount(autName, autType, shardCount);
+    }
+
     /**
      * Method returns list of aut types
      * @return String [] - array of aut types
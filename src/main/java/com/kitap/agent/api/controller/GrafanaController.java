@@ -1,16 +1,26 @@
 package com.kitap.agent.api.controller;
 
 import com.kitap.agent.database.model.ExecutedTestCase;
+import com.kitap.agent.database.model.dto.ExecutedTestCaseSummary;
 import com.kitap.agent.database.model.dto.TestCaseCountResponse;
 import com.kitap.agent.database.model.dto.TestCaseTimeResponse;
 import com.kitap.agent.database.model.dto.TestResultTable;
 import com.kitap.agent.database.repository.ExecutedTestCaseRepository;
+import com.kitap.agent.database.repository.ExecutionDailyRollupRepository;
+import com.kitap.agent.database.service.ExecutedTestCaseReader;
+import com.kitap.agent.database.service.RollupService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
@@ -25,10 +35,71 @@ import java.util.List;
 @RequiredArgsConstructor
 @RequestMapping("/v1/executed-testcases")
 public class GrafanaController {
+    private static final String NEXT_CURSOR = "X-Next-Cursor";
+    private static final String NDJSON = "application/x-ndjson";
     private final ExecutedTestCaseRepository executedTestCaseRepository;
+    private final ExecutionDailyRollupRepository executionDailyRollupRepository;
+    private final ExecutedTestCaseReader executedTestCaseReader;
+    private final RollupService rollupService;
+
+    /**
+     * Method returns a page of executed test cases, the id of the last test case is returned in the
+     * X-Next-Cursor header when more test cases may follow
+     * @param afterId id of the last test case of the previous page, 0 for the first page
+     * @param limit page size, the configured executedtestcasepagesize when not given
+     * @param includeSteps true to return the steps of the test cases, steps of a single test case are returned by its id
+     * @return list of executed test cases
+     */
     @GetMapping()
-    public List<ExecutedTestCase> getTestsResults() {
-        return executedTestCaseRepository.findAll();
+    public ResponseEntity<List<?>> getTestsResults(@RequestParam(defaultValue = "0") long afterId,
+                                                   @RequestParam(required = false) Integer limit,
+                                                   @RequestParam(defaultValue = "false") boolean includeSteps) {
+        int pageSize = executedTestCaseReader.pageSize(limit);
+        List<?> page;
+        Long lastId = null;
+        if (includeSteps) {
+            List<ExecutedTestCase> testCases = executedTestCaseReader.testCases(afterId, pageSize);
+            if (!testCases.isEmpty()) {
+                lastId = testCases.get(testCases.size() - 1).getId();
+            }
+            page = testCases;
+        } else {
+            List<ExecutedTestCaseSummary> summaries = executedTestCaseReader.summaries(afterId, pageSize);
+            if (!summaries.isEmpty()) {
+                lastId = summaries.get(summaries.size() - 1).getId();
+            }
+            page = summaries;
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.size() == pageSize) {
+            response.header(NEXT_CURSOR, String.valueOf(lastId));
+        }
+        return response.body(page);
+    }
+
+    /**
+     * Method returns a single executed test case with all its steps
+     * @param id id of the test case
+     * @return executed test case
+     */
+    @GetMapping("/{id:\\d+}")
+    public ExecutedTestCase getTestResult(@PathVariable long id) {
+        return executedTestCaseReader.testCase(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "executed test case " + id + " not found"));
+    }
+
+    /**
+     * Method streams all the executed test cases as newline delimited json, a broken download is resumed
+     * by passing the id of the last received test case
+     * @param afterId id of the last test case already received, 0 for all
+     * @param includeSteps true to write the steps of the test cases
+     * @return streaming response body
+     */
+    @GetMapping(value = "/stream", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamTestsResults(@RequestParam(defaultValue = "0") long afterId,
+                                                                    @RequestParam(defaultValue = "false") boolean includeSteps) {
+        StreamingResponseBody body = out -> executedTestCaseReader.writeNdjson(out, afterId, includeSteps);
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
     }
 
     /**
@@ -71,52 +142,49 @@ public class GrafanaController {
     }
 
     /**
-     * Method returns list test result tables of time response
+     * Method returns list test result tables of time response, the counts are read from the daily rollup
+     * so they always cover whole days, a window shorter than a day counts all the test cases of the days it touches
      * @param autName aut name
      * @param result result of test case
      * @param testCaseVersion aut version
-     * @param fromTime range of time start time
-     * @param toTime range of end time
+     * @param fromTime range of time start time, counted from the start of its day in the rollupzone
+     * @param toTime range of end time, counted up to the end of its day in the rollupzone
      * @return list of testCaseTimeResponse objects
      */
     @GetMapping("/countByTimeForResult/{autName}/{result}/{testCaseVersion}/{fromTime}/{toTime}")
     public List<TestCaseTimeResponse> countByTimeForResult(@PathVariable String autName, @PathVariable String result, @PathVariable Integer testCaseVersion, @PathVariable ZonedDateTime fromTime, @PathVariable ZonedDateTime toTime) {
-        ZonedDateTime from = fromTime.withZoneSameInstant(ZoneId.of("Asia/Kolkata"));
-        ZonedDateTime to = toTime.withZoneSameInstant(ZoneId.of("Asia/Kolkata"));
-        return executedTestCaseRepository.countByTimeForResult(autName, result, testCaseVersion, from, to);
+        return executionDailyRollupRepository.countByTimeForResult(autName, result, testCaseVersion,
+                rollupService.dayOf(fromTime), rollupService.dayOf(toTime));
     }
 
     /**
-     * Method returns list test result tables of count response
+     * Method returns list test result tables of count response, the counts are read from the daily rollup
+     * so they always cover whole days, a window shorter than a day counts all the test cases of the days it touches
      * @param autName aut name
      * @param result result of test case
      * @param testCaseVersion aut version
-     * @param fromTime range of time start time
-     * @param toTime range of end time
+     * @param fromTime range of time start time, counted from the start of its day in the rollupzone
+     * @param toTime range of end time, counted up to the end of its day in the rollupzone
      * @return list of testCaseCountResponse objects
      */
     @GetMapping("/countByName/{autName}/{result}/{testCaseVersion}/{fromTime}/{toTime}")
     public List<TestCaseCountResponse> countByName(@PathVariable String autName, @PathVariable String result, @PathVariable Integer testCaseVersion, @PathVariable ZonedDateTime fromTime, @PathVariable ZonedDateTime toTime) {
-
-        ZonedDateTime from = fromTime.withZoneSameInstant(ZoneId.of("Asia/Kolkata"));
-        ZonedDateTime to = toTime.withZoneSameInstant(ZoneId.of("Asia/Kolkata"));
-
-        return executedTestCaseRepository.countByName(autName, result, testCaseVersion, from, to);
+        return executionDailyRollupRepository.countByName(autName, result, testCaseVersion,
+                rollupService.dayOf(fromTime), rollupService.dayOf(toTime));
     }
 
     /**
-     * Method returns list test result tables of time response
+     * Method returns list test result tables of time response, the counts are read from the daily rollup
+     * so they always cover whole days, a window shorter than a day counts all the test cases of the days it touches
      * @param autName aut name
      * @param testCaseVersion aut version
-     * @param fromTime range of time start time
-     * @param toTime range of end time
+     * @param fromTime range of time start time, counted from the start of its day in the rollupzone
+     * @param toTime range of end time, counted up to the end of its day in the rollupzone
      * @return list of testCaseTimeResponse objects
      */
     @GetMapping("/countByTime/{autName}/{testCaseVersion}/{fromTime}/{toTime}")
     public List<TestCaseTimeResponse> countByTime(@PathVariable String autName, @PathVariable Integer testCaseVersion, @PathVariable ZonedDateTime fromTime, @PathVariable ZonedDateTime toTime) {
-
-        ZonedDateTime from = fromTime.withZoneSameInstant(ZoneId.of("Asia/Kolkata"));
-        ZonedDateTime to = toTime.withZoneSameInstant(ZoneId.of("Asia/Kolkata"));
-        return executedTestCaseRepository.countByTime(autName, testCaseVersion, from, to);
+        return executionDailyRollupRepository.countByTime(autName, testCaseVersion,
+                rollupService.dayOf(fromTime), rollupService.dayOf(toTime));
     }
 }
\ No newline at end of file
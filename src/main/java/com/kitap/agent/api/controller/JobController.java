@@ -0,0 +1,119 @@
+package com.kitap.agent.api.controller;
+
+import com.kitap.agent.database.model.dto.TestResultTable;
+import com.kitap.agent.execute.job.ExecutionJob;
+import com.kitap.agent.execute.job.ExecutionJobDto;
+import com.kitap.agent.execute.job.ExecutionJobService;
+import com.kitap.agent.execute.job.JobEventStreamer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Controller for reporting the status, progress and results of execution jobs
+ * @author KT1450
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/v1/jobs")
+public class JobController {
+    private final ExecutionJobService executionJobService;
+    private final JobEventStreamer jobEventStreamer;
+
+    /**
+     * Method returns all the queued, running and recently finished jobs
+     * @return list of jobs, latest submitted first
+     */
+    @GetMapping()
+    public List<ExecutionJobDto> getJobs() {
+        return executionJobService.getJobs().stream()
+                .sorted(Comparator.comparing(ExecutionJob::getSubmittedAt).reversed())
+                .map(ExecutionJobDto::new)
+                .toList();
+    }
+
+    /**
+     * Method returns status and progress of a job
+     * @param jobId id of the job returned by execute api
+     * @return job status
+     */
+    @GetMapping("/{jobId}")
+    public ExecutionJobDto getJob(@PathVariable String jobId) {
+        return new ExecutionJobDto(findJob(jobId));
+    }
+
+    /**
+     * Method returns the results of a completed job
+     * @param jobId id of the job returned by execute api
+     * @return list of test case results, empty until the job is completed
+     */
+    @GetMapping("/{jobId}/results")
+    public List<TestResultTable> getJobResults(@PathVariable String jobId) {
+        return findJob(jobId).getResults();
+    }
+
+    /**
+     * Method cancels a queued or running job, the processes of the execution are terminated
+     * and the job is recorded as aborted
+     * @param jobId id of the job returned by execute api
+     * @return job status
+     */
+    @PostMapping("/{jobId}/cancel")
+    public ExecutionJobDto cancelJob(@PathVariable String jobId) {
+        try {
+            ExecutionJob job = executionJobService.cancel(jobId, "cancelled by user");
+            if (job == null) {
+                log.warn("execution job {} not found", jobId);
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "execution job not found");
+            }
+            return new ExecutionJobDto(job);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+
+    /**
+     * Method streams the maven output lines, test events and status changes of a job as server sent events,
+     * the stream ends when the job is finished
+     * @param jobId id of the job returned by execute api
+     * @param lastEventId id of the last event received, sent by the clients when they reconnect
+     * @return event stream
+     */
+    @GetMapping(value = "/{jobId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamJob(@PathVariable String jobId,
+                                @RequestHeader(value = "Last-Event-ID", required = false, defaultValue = "0") long lastEventId) {
+        try {
+            return jobEventStreamer.stream(findJob(jobId), lastEventId);
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "too many clients are streaming, please try again later");
+        }
+    }
+
+    /**
+     * Finds the job or responds with not found
+     * @param jobId id of the job
+     * @return execution job
+     */
+    private ExecutionJob findJob(String jobId) {
+        ExecutionJob job = executionJobService.getJob(jobId);
+        if (job == null) {
+            log.warn("execution job {} not found", jobId);
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "execution job not found");
+        }
+        return job;
+    }
+}
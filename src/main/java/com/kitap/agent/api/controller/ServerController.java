@@ -1,16 +1,17 @@
 package com.kitap.agent.api.controller;
 
-import com.kitap.agent.database.repository.ExecutedTestCaseRepository;
-import com.kitap.agent.database.service.ResultSaver;
-import com.kitap.agent.execute.TestRunner;
+import com.kitap.agent.execute.ValidBrowsers;
+import com.kitap.agent.execute.job.ExecutionJobService;
 import com.kitap.agent.generate.util.FileOperations;
 import com.kitap.testresult.dto.execute.ExecutionAutDetails;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.util.StopWatch;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.io.File;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Controller class for server
@@ -21,27 +22,35 @@ import java.io.File;
 @RequestMapping("/v1")
 public class ServerController {
     @Autowired
-    ExecutedTestCaseRepository executedTestCaseRepository;
+    ExecutionJobService executionJobService;
     final FileOperations operations = new FileOperations();
 
     /**
-     * Method executes the test cases and saves that result into database
+     * Method queues the execution of the test cases, result is saved into database once the job completes
      * @param details execution detail object
-     * @return String - saved to database
+     * @param browser browser to execute with, overrides the browser of serenity.properties when given,
+     *                must be one of the supportedBrowsers
+     * @param isolated true to execute in a separate working copy, used for parallel executions of a version
+     * @param timeout minutes after which the execution is aborted, the configured timeout is used when not given
+     * @return String - id of the queued execution job
      */
     @PostMapping("/executeTests")
-    public String execute(@RequestBody ExecutionAutDetails details) {
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
+    public String execute(@RequestBody ExecutionAutDetails details,
+                          @RequestParam(required = false) String browser,
+                          @RequestParam(defaultValue = "false") boolean isolated,
+                          @RequestParam(required = false) Long timeout) {
         log.info("execution API started with executionAutDetails");
-        TestRunner runner = new TestRunner(details);
-        ResultSaver saver = new ResultSaver(executedTestCaseRepository);
-        saver.save(runner.executeTests(), details);
-        log.info("execution API completed with returning saved to database message");
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
-        return "saved to database";
+        if (browser != null && !ValidBrowsers.isSupported(browser)) {
+            log.warn("{} is not a supported browser", browser);
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "browser is not supported");
+        }
+        try {
+            String jobId = executionJobService.submit(details, browser, isolated, timeout).getId();
+            log.info("execution API completed with returning job id " + jobId);
+            return jobId;
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "execution queue is full, please try again later");
+        }
     }
 
     /**
@@ -13,7 +13,7 @@ import java.util.Objects;
 /**
  * This is the entity class of ApplicationUnderTest with fields like name, displayName,
  *      description, url, executableFilePath, type of aut, version of aut, createdBy,
- *      createdAt time, modifiedAt time, modifiedBy, isActive
+ *      createdAt time, modifiedAt time, modifiedBy, isActive, shardCount
  * @author KT1450
  */
 @Getter
@@ -37,6 +37,7 @@ public class ApplicationUnderTest {
     private Long modifiedBy;
     private ZonedDateTime modifiedAt;
     private Boolean isActive;
+    private Integer shardCount;
 
     /**
      * Compare and checks two objects are equal or not
@@ -10,7 +10,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 /**
- * This is the entity class of ExecutedTestCase with fields like testCaseName, autName,
+ * This is the entity class of ExecutedTestCase with fields like testCaseName, testClassName, executionId, autName,
  *      testCaseVersion, testCaseStartedAt time, testCaseFinishedAt time, result, browserName,
  *      browserVersion, osName, osVersion, deviceType, cloudVendor
  * @author KT1450
@@ -18,12 +18,19 @@ import java.util.Objects;
 @Getter
 @Setter
 @Entity
-@Table(name = "executed_test_case")
+@Table(name = "executed_test_case", indexes = {
+        @Index(name = "idx_etc_aut_version_started", columnList = "autName, testCaseVersion, testCaseStartedAt"),
+        @Index(name = "idx_etc_aut_result_version_started", columnList = "autName, result, testCaseVersion, testCaseStartedAt"),
+        @Index(name = "idx_etc_aut_started", columnList = "autName, testCaseStartedAt")
+})
 public class ExecutedTestCase {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "executed_test_case_seq")
+    @SequenceGenerator(name = "executed_test_case_seq", sequenceName = "executed_test_case_seq", allocationSize = 50)
     private Long id;
     private String testCaseName;
+    private String testClassName;
+    private String executionId;
     private String autName;
     private Integer testCaseVersion;
     private ZonedDateTime testCaseStartedAt;
@@ -37,7 +44,7 @@ public class ExecutedTestCase {
     private String cloudVendor;
 
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
-    @JoinColumn(name = "testcase_id")
+    @JoinColumn(name = "testcase_id", nullable = false)
     private List<ExecutedTestStep> executedTestStepList = new ArrayList<>();
 
     /**
@@ -19,7 +19,8 @@ import java.util.Objects;
 @Table(name = "executed_test_step")
 public class ExecutedTestStep {
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "executed_test_step_seq")
+    @SequenceGenerator(name = "executed_test_step_seq", sequenceName = "executed_test_step_seq", allocationSize = 50)
     private Long id;
     private String testStepName;
     private Integer testStepVersion;
@@ -0,0 +1,56 @@
+package com.kitap.agent.database.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.Hibernate;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * This is the entity class of ExecutionDailyRollup with the number of executions and the sum of their durations
+ *      per aut, version, day, result and test case, kept up to date when the results are saved
+ *      so that the dashboards do not aggregate the executed test cases
+ * @author KT1450
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "execution_daily_rollup", indexes = {
+        @Index(name = "idx_edr_key", columnList = "autName, testCaseVersion, executedOn, result, testCaseName", unique = true)
+})
+public class ExecutionDailyRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private String autName;
+    private Integer testCaseVersion;
+    private LocalDate executedOn;
+    private String result;
+    private String testCaseName;
+    private Long countResult;
+    private Long durationSum;
+
+    /**
+     * Compare and checks two objects are equal or not
+     * @param o input object
+     * @return true if two objects are same, else false
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) return false;
+        ExecutionDailyRollup that = (ExecutionDailyRollup) o;
+        return id != null && Objects.equals(id, that.id);
+    }
+
+    /**
+     * getting the hashcode of an object
+     * @return value of hashcode
+     */
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
@@ -0,0 +1,30 @@
+package com.kitap.agent.database.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+/**
+ * Class containing the fields of an executed test case without its steps, used for listing
+ *      and exporting the test cases
+ * @author KT1450
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ExecutedTestCaseSummary {
+    private Long id;
+    private String testCaseName;
+    private String autName;
+    private Integer testCaseVersion;
+    private ZonedDateTime testCaseStartedAt;
+    private ZonedDateTime testCaseFinishedAt;
+    private String result;
+    private String browserName;
+    private String browserVersion;
+    private String osName;
+    private String osVersion;
+    private String deviceType;
+    private String cloudVendor;
+}
@@ -0,0 +1,6 @@
+package com.kitap.agent.database.model.dto;
+
+public interface TestClassDurationResponse {
+    String getTestClassName();
+    Long getAverageDuration();
+}
@@ -1,15 +1,27 @@
 package com.kitap.agent.database.repository;
 
 import com.kitap.agent.database.model.ExecutedTestCase;
+import com.kitap.agent.database.model.dto.ExecutedTestCaseSummary;
 import com.kitap.agent.database.model.dto.TestCaseCountResponse;
+import com.kitap.agent.database.model.dto.TestClassDurationResponse;
 import com.kitap.agent.database.model.dto.TestCaseTimeResponse;
 import com.kitap.agent.database.model.dto.TestResultTable;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 /**
  * ExecutedTestCase Repository which is extending JpaRepository
  * @author KT1450
@@ -21,7 +33,7 @@ public interface ExecutedTestCaseRepository extends JpaRepository<ExecutedTestCa
      * It fetches list of aut names from executed test cases
      * @return list of aut names
      */
-    @Query(value = "SELECT aut_name FROM EXECUTED_TEST_CASE", nativeQuery = true)
+    @Query(value = "SELECT DISTINCT aut_name FROM EXECUTED_TEST_CASE", nativeQuery = true)
     List<String> getAllAUTNames();
 
     /**
@@ -29,7 +41,7 @@ public interface ExecutedTestCaseRepository extends JpaRepository<ExecutedTestCa
      * @param autName - used get version of test cases under this aut
      * @return list of versions
      */
-    @Query(value = "SELECT TEST_CASE_VERSION FROM EXECUTED_TEST_CASE WHERE AUT_NAME = ?1", nativeQuery = true)
+    @Query(value = "SELECT DISTINCT TEST_CASE_VERSION FROM EXECUTED_TEST_CASE WHERE AUT_NAME = ?1", nativeQuery = true)
     List<Integer> getAllVersions(String autName);
     //TODO need to verify with aut type also
 
@@ -98,4 +110,115 @@ public interface ExecutedTestCaseRepository extends JpaRepository<ExecutedTestCa
             "TEST_CASE_STARTED_AT BETWEEN ?3 AND ?4 " +
             "GROUP BY executedAt", nativeQuery = true)
     List<TestCaseTimeResponse> countByTime(String autName, Integer testCaseVersion, ZonedDateTime from, ZonedDateTime to);
-}
\ No newline at end of file
+
+    /**
+     * It fetches the average duration of every test class of an aut executed after the given time, the durations
+     *      of the test cases of a class are summed per execution and the sums are averaged over the executions
+     * @param autName - aut name -> used to filter test result
+     * @param from - start of the history -> used to filter test result
+     * @return list of test class names with their average duration in milliseconds
+     */
+    @Query(value = "SELECT TEST_CLASS_NAME AS testClassName, CAST(AVG(CLASS_DURATION) AS BIGINT) AS averageDuration " +
+            "FROM (SELECT EXECUTION_ID, TEST_CLASS_NAME, " +
+            "SUM(DATEDIFF('MILLISECOND', TEST_CASE_STARTED_AT, TEST_CASE_FINISHED_AT)) AS CLASS_DURATION " +
+            "FROM EXECUTED_TEST_CASE " +
+            "WHERE aut_name = ?1 AND " +
+            "TEST_CLASS_NAME IS NOT NULL AND " +
+            "EXECUTION_ID IS NOT NULL AND " +
+            "TEST_CASE_FINISHED_AT IS NOT NULL AND " +
+            "TEST_CASE_STARTED_AT >= ?2 " +
+            "GROUP BY EXECUTION_ID, TEST_CLASS_NAME) " +
+            "GROUP BY TEST_CLASS_NAME", nativeQuery = true)
+    List<TestClassDurationResponse> averageDurationByClass(String autName, ZonedDateTime from);
+
+    /**
+     * It fetches a page of test cases without their steps, the pages are keyed by the id so that
+     *      a page costs the same however deep the client is in the table
+     * @param afterId - id of the last test case of the previous page, 0 for the first page
+     * @param pageable - page size, the page number must be 0
+     * @return test cases with id greater than afterId in the order of the id
+     */
+    @Query("SELECT new com.kitap.agent.database.model.dto.ExecutedTestCaseSummary" +
+            "(t.id, t.testCaseName, t.autName, t.testCaseVersion, t.testCaseStartedAt, t.testCaseFinishedAt, t.result, " +
+            "t.browserName, t.browserVersion, t.osName, t.osVersion, t.deviceType, t.cloudVendor) " +
+            "FROM ExecutedTestCase AS t WHERE t.id > ?1 ORDER BY t.id")
+    List<ExecutedTestCaseSummary> findSummariesAfter(Long afterId, Pageable pageable);
+
+    /**
+     * It fetches the ids of a page of test cases
+     * @param afterId - id of the last test case of the previous page, 0 for the first page
+     * @param pageable - page size, the page number must be 0
+     * @return ids greater than afterId in ascending order
+     */
+    @Query("SELECT t.id FROM ExecutedTestCase AS t WHERE t.id > ?1 ORDER BY t.id")
+    List<Long> findIdsAfter(Long afterId, Pageable pageable);
+
+    /**
+     * It fetches the test cases with their steps in a single query
+     * @param ids - ids of the test cases
+     * @return test cases in the order of the id
+     */
+    @Query("SELECT DISTINCT t FROM ExecutedTestCase AS t LEFT JOIN FETCH t.executedTestStepList " +
+            "WHERE t.id IN ?1 ORDER BY t.id")
+    List<ExecutedTestCase> findWithStepsByIds(List<Long> ids);
+
+    /**
+     * It streams the test cases without their steps, to be consumed inside a transaction and closed
+     * @param afterId - id of the last test case already received, 0 for all
+     * @return stream of test cases in the order of the id
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "200"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT new com.kitap.agent.database.model.dto.ExecutedTestCaseSummary" +
+            "(t.id, t.testCaseName, t.autName, t.testCaseVersion, t.testCaseStartedAt, t.testCaseFinishedAt, t.result, " +
+            "t.browserName, t.browserVersion, t.osName, t.osVersion, t.deviceType, t.cloudVendor) " +
+            "FROM ExecutedTestCase AS t WHERE t.id > ?1 ORDER BY t.id")
+    Stream<ExecutedTestCaseSummary> streamSummariesAfter(Long afterId);
+
+    /**
+     * It fetches a test case with its steps in a single query
+     * @param id - id of the test case
+     * @return test case or empty when it does not exist
+     */
+    @EntityGraph(attributePaths = "executedTestStepList")
+    Optional<ExecutedTestCase> findWithStepsById(Long id);
+
+    /**
+     * It fetches the ids of a page of test cases started before the given time which still have steps
+     * @param before - test cases started before this time are selected
+     * @param pageable - page size, the page number must be 0
+     * @return ids in ascending order
+     */
+    @Query("SELECT DISTINCT t.id FROM ExecutedTestCase AS t JOIN t.executedTestStepList AS s " +
+            "WHERE t.testCaseStartedAt < ?1 ORDER BY t.id")
+    List<Long> findIdsWithStepsStartedBefore(ZonedDateTime before, Pageable pageable);
+
+    /**
+     * It fetches a page of test cases started before the given time without their steps
+     * @param before - test cases started before this time are selected
+     * @param pageable - page size, the page number must be 0
+     * @return test cases in the order of the id
+     */
+    @Query("SELECT new com.kitap.agent.database.model.dto.ExecutedTestCaseSummary" +
+            "(t.id, t.testCaseName, t.autName, t.testCaseVersion, t.testCaseStartedAt, t.testCaseFinishedAt, t.result, " +
+            "t.browserName, t.browserVersion, t.osName, t.osVersion, t.deviceType, t.cloudVendor) " +
+            "FROM ExecutedTestCase AS t WHERE t.testCaseStartedAt < ?1 ORDER BY t.id")
+    List<ExecutedTestCaseSummary> findSummariesStartedBefore(ZonedDateTime before, Pageable pageable);
+
+    /**
+     * It deletes the steps of the test cases, the test cases are kept
+     * @param ids - ids of the test cases
+     * @return number of deleted steps
+     */
+    @Modifying
+    @Query(value = "DELETE FROM EXECUTED_TEST_STEP WHERE TESTCASE_ID IN ?1", nativeQuery = true)
+    int deleteStepsOfTestCases(List<Long> ids);
+
+    /**
+     * It deletes the test cases, their steps must be deleted before
+     * @param ids - ids of the test cases
+     * @return number of deleted test cases
+     */
+    @Modifying
+    @Query(value = "DELETE FROM EXECUTED_TEST_CASE WHERE ID IN ?1", nativeQuery = true)
+    int deleteTestCases(List<Long> ids);
+}
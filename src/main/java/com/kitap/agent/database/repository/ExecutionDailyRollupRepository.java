@@ -0,0 +1,92 @@
+package com.kitap.agent.database.repository;
+
+import com.kitap.agent.database.model.ExecutionDailyRollup;
+import com.kitap.agent.database.model.dto.TestCaseCountResponse;
+import com.kitap.agent.database.model.dto.TestCaseTimeResponse;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * ExecutionDailyRollup Repository which is extending JpaRepository
+ * @author KT1450
+ */
+@Repository
+public interface ExecutionDailyRollupRepository extends JpaRepository<ExecutionDailyRollup, Long> {
+
+    /**
+     * It adds the counts and durations to the rollup row of the key, the row is created when it does not exist
+     * @param autName - aut name
+     * @param testCaseVersion - version of test case
+     * @param executedOn - day of the execution
+     * @param result - test case result
+     * @param testCaseName - test case name
+     * @param count - number of executions to add
+     * @param duration - sum of the durations in milliseconds to add
+     */
+    @Modifying
+    @Query(value = "MERGE INTO EXECUTION_DAILY_ROLLUP r " +
+            "USING (VALUES (?1, ?2, ?3, ?4, ?5)) AS s(AUT_NAME, TEST_CASE_VERSION, EXECUTED_ON, RESULT, TEST_CASE_NAME) " +
+            "ON r.AUT_NAME = s.AUT_NAME AND r.TEST_CASE_VERSION = s.TEST_CASE_VERSION AND r.EXECUTED_ON = s.EXECUTED_ON " +
+            "AND r.RESULT = s.RESULT AND r.TEST_CASE_NAME = s.TEST_CASE_NAME " +
+            "WHEN MATCHED THEN UPDATE SET COUNT_RESULT = r.COUNT_RESULT + ?6, DURATION_SUM = r.DURATION_SUM + ?7 " +
+            "WHEN NOT MATCHED THEN INSERT (AUT_NAME, TEST_CASE_VERSION, EXECUTED_ON, RESULT, TEST_CASE_NAME, COUNT_RESULT, DURATION_SUM) " +
+            "VALUES (?1, ?2, ?3, ?4, ?5, ?6, ?7)", nativeQuery = true)
+    void add(String autName, Integer testCaseVersion, LocalDate executedOn, String result, String testCaseName, long count, long duration);
+
+    /**
+     * It fetches the number of executions per day for a result
+     * @param autName - aut name -> used to filter test result
+     * @param result - test case result -> used to filter test result
+     * @param testCaseVersion - version of test case -> used to filter test result
+     * @param from - first day -> used to filter test result
+     * @param to - last day -> used to filter test result
+     * @return list of time response test result table
+     */
+    @Query(value = "SELECT EXECUTED_ON AS executedAt, SUM(COUNT_RESULT) AS countResult " +
+            "FROM EXECUTION_DAILY_ROLLUP " +
+            "WHERE aut_name = ?1 AND " +
+            "result = ?2 AND " +
+            "test_case_version = ?3 AND " +
+            "EXECUTED_ON BETWEEN ?4 AND ?5 " +
+            "GROUP BY EXECUTED_ON", nativeQuery = true)
+    List<TestCaseTimeResponse> countByTimeForResult(String autName, String result, Integer testCaseVersion, LocalDate from, LocalDate to);
+
+    /**
+     * It fetches the number of executions per test case for a result
+     * @param autName - aut name -> used to filter test result
+     * @param result - test case result -> used to filter test result
+     * @param version - version of test case -> used to filter test result
+     * @param from - first day -> used to filter test result
+     * @param to - last day -> used to filter test result
+     * @return list of count response test result table
+     */
+    @Query("SELECT new com.kitap.agent.database.model.dto.TestCaseCountResponse(r.testCaseName, SUM(r.countResult)) " +
+            "FROM ExecutionDailyRollup AS r " +
+            "WHERE r.autName = ?1 " +
+            "AND r.result = ?2 " +
+            "AND r.testCaseVersion = ?3 " +
+            "AND r.executedOn BETWEEN ?4 AND ?5 " +
+            "GROUP BY r.testCaseName")
+    List<TestCaseCountResponse> countByName(String autName, String result, Integer version, LocalDate from, LocalDate to);
+
+    /**
+     * It fetches the number of executions per day
+     * @param autName - aut name -> used to filter test result
+     * @param testCaseVersion - version of test case -> use to filter test result
+     * @param from - first day -> used to filter test result
+     * @param to - last day -> used to filter test result
+     * @return list of time response test result table
+     */
+    @Query(value = "SELECT EXECUTED_ON AS executedAt, SUM(COUNT_RESULT) AS countResult " +
+            "FROM EXECUTION_DAILY_ROLLUP " +
+            "WHERE aut_name = ?1 AND " +
+            "test_case_version = ?2 AND " +
+            "EXECUTED_ON BETWEEN ?3 AND ?4 " +
+            "GROUP BY EXECUTED_ON", nativeQuery = true)
+    List<TestCaseTimeResponse> countByTime(String autName, Integer testCaseVersion, LocalDate from, LocalDate to);
+}
@@ -6,7 +6,6 @@ import com.kitap.agent.ui.machineInfo.MachineInformation;
 import com.kitap.agent.util.PropertyReaderHelper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.util.StopWatch;
 
 import java.io.File;
 import java.time.ZonedDateTime;
@@ -36,22 +35,14 @@ public class AUTService{
      * @return returns the response of about aut creation
      * */
     public String saveAutDetails(ApplicationUnderTest aut){
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
         log.info("saving aut details with aut as input");
         ApplicationUnderTest applicationUnderTest = repo.isExists(aut.getName(), aut.getType());
         if (applicationUnderTest == null){
             repo.save(aut);
             log.info("New AUT created");
-            stopWatch.stop();
-            log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                    " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
             return "New AUT created";
         }else {
             log.warn("Duplicated AUT");
-            stopWatch.stop();
-            log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                    " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
             return "Duplicated AUT";
         }
     }
@@ -62,13 +53,8 @@ public class AUTService{
      * @return list of count response test result table
      * */
     public String [] getAllAUT(String autType){
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
         List<String> allAutList = repo.getAllAUTNames(autType);
         log.info("returning array of auts by using autType as input");
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
         return GetLitOfAutsThatAreOnFilesystem(allAutList, autType);
     }
 
@@ -78,8 +64,6 @@ public class AUTService{
      * @return returns list of auts from file system
      * */
     private String[] GetLitOfAutsThatAreOnFilesystem(List<String> auts, String autType) {
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
         ArrayList<String> validAuts = new ArrayList<>();
         // Check if the corresponding AUTs have code in the file system
         String baseAutPath = PropertyReaderHelper.getProperty("destinationpath")+separator+autType;
@@ -102,9 +86,6 @@ public class AUTService{
         }
         String [] validAutsArr = new String [validAuts.size()];
         log.info("returning array of auts that are on filesystem");
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
         return validAuts.toArray(validAutsArr);
     }
 
@@ -115,8 +96,6 @@ public class AUTService{
      * @return returns aut object
      * */
     public ApplicationUnderTest getAUT(String autName, String autType){
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
         ApplicationUnderTest aut = new ApplicationUnderTest();
         aut.setName(autName);
         aut.setDisplayName(autName);
@@ -128,19 +107,34 @@ public class AUTService{
         aut.setCreatedAt(ZonedDateTime.now());
         aut.setIsActive(true);
         log.info("returning AUT by using autName and autType as inputs");
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
         return aut;
     }
 
+    /**
+     * @Description updates the number of parallel shards used for executing the aut
+     * @param autName - the name of the aut
+     * @param autType - the type of the aut
+     * @param shardCount - number of shards, 1 executes the tests in a single maven process
+     * @return returns the response of the update
+     * */
+    public String updateShardCount(String autName, String autType, int shardCount){
+        ApplicationUnderTest aut = repo.isExists(autName, autType);
+        if (aut == null){
+            log.warn("AUT " + autName + " not found");
+            return "AUT not found";
+        }
+        aut.setShardCount(Math.max(1, shardCount));
+        aut.setModifiedAt(ZonedDateTime.now());
+        repo.save(aut);
+        log.info("shard count of " + autName + " updated to " + aut.getShardCount());
+        return "Shard count updated";
+    }
+
     /**
      * @Description provides list of aut types
      * @return A String of array contains aut types
      * */
     public String [] getAutTypes(){
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
         List<String> allAutTypes = repo.getAutTypes();
         if (allAutTypes.isEmpty()){
             log.info("No autType present");
@@ -148,9 +142,6 @@ public class AUTService{
         }
         String [] autTypes = new String [allAutTypes.size()];
         log.info("returning array of autTypes");
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
         return allAutTypes.toArray(autTypes);
     }
 }
@@ -8,7 +8,6 @@ import com.kitap.testresult.dto.dateandtime.ZonedDateTime;
 import com.kitap.testresult.dto.execute.ExecutionAutDetails;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
-import org.springframework.util.StopWatch;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -27,8 +26,6 @@ public class DtoToEntityConverter {
      * @return a test case entity
      * */
     public ExecutedTestCase convertDtoToEntity(com.kitap.testresult.dto.ExecutedTestCase tcase, ExecutionAutDetails details) {
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
         ExecutedTestCase etc = new ExecutedTestCase();
         etc.setTestCaseName(tcase.getTestCaseName());
         etc.setTestCaseVersion(tcase.getTestCaseVersion());
@@ -44,9 +41,6 @@ public class DtoToEntityConverter {
         etc.setAutName(details.getAut());
         etc.setExecutedTestStepList(getExecutedTestSteps(tcase.getTestSteps(), details.getVersion()));
         log.info("converting dto to entity and returning executedTestCase entity");
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
         return etc;
     }
 
@@ -72,8 +66,6 @@ public class DtoToEntityConverter {
      * @return a list of step entities
      * */
     public List<ExecutedTestStep> getExecutedTestSteps(List<com.kitap.testresult.dto.ExecutedTestStep> steps, String version) {
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
         List<ExecutedTestStep> list = new ArrayList<>();
         for (com.kitap.testresult.dto.ExecutedTestStep step : steps) {
             ExecutedTestStep ets = new ExecutedTestStep();
@@ -87,9 +79,6 @@ public class DtoToEntityConverter {
             list.add(ets);
         }
         log.info("getting list of executedTestSteps using executedTestSteps dto and version as inputs");
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
         return list;
     }
 
@@ -0,0 +1,132 @@
+package com.kitap.agent.database.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kitap.agent.database.model.ExecutedTestCase;
+import com.kitap.agent.database.model.dto.ExecutedTestCaseSummary;
+import com.kitap.agent.database.repository.ExecutedTestCaseRepository;
+import com.kitap.agent.util.PropertyReaderHelper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+public class ExecutedTestCaseReader {
+
+    /**
+     * @Description read model of the executed test cases, every view loads only the columns it shows, the steps
+     *      are fetched with an explicit join or entity graph and only by the views which show them
+     */
+
+    private static final byte NEW_LINE = '\n';
+    private final ExecutedTestCaseRepository repo;
+    private final ObjectMapper objectMapper;
+    private final int defaultPageSize = Integer.parseInt(PropertyReaderHelper.getProperty("executedtestcasepagesize"));
+    private final int maxPageSize = Integer.parseInt(PropertyReaderHelper.getProperty("executedtestcasemaxpagesize"));
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ExecutedTestCaseReader(ExecutedTestCaseRepository repo, ObjectMapper objectMapper) {
+        this.repo = repo;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @Description returns the page size to use for the requested limit
+     * @param limit - requested page size, null for the configured default
+     * @return page size between 1 and the configured maximum
+     * */
+    public int pageSize(Integer limit) {
+        if (limit == null) {
+            return defaultPageSize;
+        }
+        return Math.max(1, Math.min(limit, maxPageSize));
+    }
+
+    /**
+     * @Description returns a page of test cases without their steps
+     * @param afterId - id of the last test case of the previous page
+     * @param limit - page size
+     * @return test cases with id greater than afterId
+     * */
+    @Transactional(readOnly = true)
+    public List<ExecutedTestCaseSummary> summaries(long afterId, int limit) {
+        return repo.findSummariesAfter(afterId, PageRequest.of(0, limit));
+    }
+
+    /**
+     * @Description returns a page of test cases with their steps, the ids of the page are selected first
+     *      so that the steps are fetched with one join without paging the joined rows in memory
+     * @param afterId - id of the last test case of the previous page
+     * @param limit - page size
+     * @return test cases with id greater than afterId
+     * */
+    @Transactional(readOnly = true)
+    public List<ExecutedTestCase> testCases(long afterId, int limit) {
+        List<Long> ids = repo.findIdsAfter(afterId, PageRequest.of(0, limit));
+        return ids.isEmpty() ? List.of() : repo.findWithStepsByIds(ids);
+    }
+
+    /**
+     * @Description returns a single test case with all its steps, used by the drill-down view
+     * @param id - id of the test case
+     * @return test case or empty when it does not exist
+     * */
+    @Transactional(readOnly = true)
+    public Optional<ExecutedTestCase> testCase(long id) {
+        return repo.findWithStepsById(id);
+    }
+
+    /**
+     * @Description writes the test cases as newline delimited json, one test case per line, the test cases are
+     *      read from a database cursor, with steps they are read in keyset pages joined with their steps
+     *      and the persistence context is cleared after every page
+     * @param out - response stream
+     * @param afterId - id of the last test case already received by the client
+     * @param includeSteps - true to write the steps of the test cases
+     * */
+    @Timed("kitap.results.export")
+    @Transactional(readOnly = true)
+    public void writeNdjson(OutputStream out, long afterId, boolean includeSteps) throws IOException {
+        long count = 0;
+        if (includeSteps) {
+            long lastId = afterId;
+            List<ExecutedTestCase> page;
+            do {
+                page = testCases(lastId, defaultPageSize);
+                for (ExecutedTestCase testCase : page) {
+                    writeLine(out, testCase);
+                    lastId = testCase.getId();
+                }
+                count += page.size();
+                entityManager.clear();
+            } while (page.size() == defaultPageSize);
+        } else {
+            try (Stream<ExecutedTestCaseSummary> rows = repo.streamSummariesAfter(afterId)) {
+                Iterator<ExecutedTestCaseSummary> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    writeLine(out, iterator.next());
+                    count++;
+                }
+            }
+        }
+        out.flush();
+        log.info("streamed " + count + " executed test cases");
+    }
+
+    private void writeLine(OutputStream out, Object row) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(row));
+        out.write(NEW_LINE);
+    }
+}
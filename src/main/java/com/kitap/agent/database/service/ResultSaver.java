@@ -1,13 +1,21 @@
 package com.kitap.agent.database.service;
 
+import com.kitap.agent.database.model.dto.TestResultTable;
 import com.kitap.agent.database.repository.ExecutedTestCaseRepository;
+import com.kitap.agent.util.PropertyReaderHelper;
 import com.kitap.testresult.dto.ExecutedTestCase;
 import com.kitap.testresult.dto.execute.ExecutionAutDetails;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
-import org.springframework.util.StopWatch;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 @Slf4j
 @Component
 public class ResultSaver {
@@ -18,26 +26,66 @@ public class ResultSaver {
 
     private final ExecutedTestCaseRepository repo;
     private final DtoToEntityConverter converter = new DtoToEntityConverter();
+    private final int chunkSize = Integer.parseInt(PropertyReaderHelper.getProperty("resultsavechunksize"));
+    @PersistenceContext
+    private EntityManager entityManager;
 
-    public ResultSaver(ExecutedTestCaseRepository repo) {
+    private final RollupService rollupService;
+
+    public ResultSaver(ExecutedTestCaseRepository repo, RollupService rollupService) {
         this.repo = repo;
+        this.rollupService = rollupService;
     }
 
     /**
-     * @Description save method to save test cases in in-memory database
+     * @Description save method to save test cases in in-memory database, test cases are inserted in a single
+     *      transaction with jdbc batching, the persistence context is flushed and cleared after every chunk
+     *      and only the result rows of the saved test cases are kept, so that memory does not grow with the
+     *      steps of the execution. Every chunk is added to the daily rollup once the transaction is committed
      * @param tests - list of test cases that to save in database
      * @param details - used to fill some test case fields
+     * @param executionId - id of the execution the test cases belong to
+     * @param testClassOf - returns the test class of a test case name, null when it is not known
+     * @return result rows of the saved test cases
      */
-    public void save(List<ExecutedTestCase> tests, ExecutionAutDetails details) {
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
+    @Timed(value = "kitap.results.save", histogram = true)
+    @Transactional
+    public List<TestResultTable> save(List<ExecutedTestCase> tests, ExecutionAutDetails details,
+                                      String executionId, Function<String, String> testClassOf) {
+        List<TestResultTable> saved = new ArrayList<>(tests.size());
+        List<com.kitap.agent.database.model.ExecutedTestCase> chunk = new ArrayList<>(chunkSize);
         for (ExecutedTestCase tcase : tests) {
-            repo.save(converter.convertDtoToEntity(tcase, details));
-            repo.findAll();
+            com.kitap.agent.database.model.ExecutedTestCase entity = converter.convertDtoToEntity(tcase, details);
+            entity.setExecutionId(executionId);
+            entity.setTestClassName(testClassOf.apply(tcase.getTestCaseName()));
+            chunk.add(entity);
+            if (chunk.size() == chunkSize) {
+                saveChunk(chunk, details, saved);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            saveChunk(chunk, details, saved);
+        }
+        log.info("saved {} tests", saved.size());
+        return saved;
+    }
+
+    /**
+     * @Description inserts the chunk of test cases with their steps, adds them to the rollup and detaches them
+     * @param chunk - test case entities to insert
+     * @param details - aut details of the test cases
+     * @param saved - result rows of the test cases saved so far, the rows of the chunk are added
+     */
+    private void saveChunk(List<com.kitap.agent.database.model.ExecutedTestCase> chunk, ExecutionAutDetails details,
+                           List<TestResultTable> saved) {
+        repo.saveAll(chunk);
+        entityManager.flush();
+        for (com.kitap.agent.database.model.ExecutedTestCase testCase : chunk) {
+            saved.add(new TestResultTable(testCase.getTestCaseName(), testCase.getResult(), testCase.getTestCaseStartedAt()));
         }
-        log.info("saving tests");
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
+        rollupService.add(chunk);
+        Metrics.counter("kitap.results.ingested", "aut", String.valueOf(details.getAut())).increment(chunk.size());
+        entityManager.clear();
     }
 }
@@ -0,0 +1,197 @@
+package com.kitap.agent.database.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kitap.agent.database.model.ExecutedTestCase;
+import com.kitap.agent.database.model.dto.ExecutedTestCaseSummary;
+import com.kitap.agent.database.repository.ExecutedTestCaseRepository;
+import com.kitap.agent.util.PropertyReaderHelper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+@Slf4j
+@Service
+public class RetentionService {
+
+    /**
+     * @Description keeps the result store bounded, the steps of old test cases are removed first and the old
+     *      test cases later, everything removed is archived into gzip compressed ndjson files under the
+     *      destination path, the daily rollup is kept so the dashboards still show the history
+     */
+
+    private static final DateTimeFormatter ARCHIVE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final byte NEW_LINE = '\n';
+    private final ExecutedTestCaseRepository repo;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchSize = Integer.parseInt(PropertyReaderHelper.getProperty("retentionbatchsize"));
+    private volatile boolean purged;
+
+    public RetentionService(ExecutedTestCaseRepository repo, JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager, ObjectMapper objectMapper) {
+        this.repo = repo;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @Description scheduled retention run, archives and deletes the steps older than retentionstepdays and
+     *      the test cases older than retentiontestcasedays, then checkpoints the database
+     * */
+    @Timed("kitap.retention.purge")
+    @Scheduled(cron = "${retentioncron}")
+    public synchronized void purge() {
+        if (!Boolean.parseBoolean(PropertyReaderHelper.getProperty("retentionenabled"))) {
+            return;
+        }
+        long stepDays = Long.parseLong(PropertyReaderHelper.getProperty("retentionstepdays"));
+        long testCaseDays = Math.max(stepDays, Long.parseLong(PropertyReaderHelper.getProperty("retentiontestcasedays")));
+        ZonedDateTime now = ZonedDateTime.now();
+        try {
+            long steps = purgeSteps(now.minusDays(stepDays), now);
+            long testCases = purgeTestCases(now.minusDays(testCaseDays), now);
+            log.info("retention removed the steps of " + steps + " test cases and " + testCases + " test cases");
+            if (steps + testCases > 0) {
+                purged = true;
+                jdbcTemplate.execute("CHECKPOINT");
+                jdbcTemplate.execute("ANALYZE");
+            }
+        } catch (IOException e) {
+            log.error(e.toString());
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * @Description compacts the database file when the application is closed after a retention run removed rows,
+     *      H2 gives the free pages back to the file system only while no connection is using the database
+     * */
+    @PreDestroy
+    public void compact() {
+        if (!purged || !Boolean.parseBoolean(PropertyReaderHelper.getProperty("retentioncompactonshutdown"))) {
+            return;
+        }
+        log.info("compacting the database");
+        try {
+            jdbcTemplate.execute("SHUTDOWN COMPACT");
+        } catch (RuntimeException e) {
+            log.warn("database compaction failed: " + e);
+        }
+    }
+
+    /**
+     * @Description archives the old test cases with their steps and deletes the steps, batch by batch
+     * @param before - steps of the test cases started before this time are deleted
+     * @param now - time of the run, used in the archive file name
+     * @return number of test cases whose steps were deleted
+     * */
+    private long purgeSteps(ZonedDateTime before, ZonedDateTime now) throws IOException {
+        return archive("executed-test-steps", now, () -> transactionTemplate.execute(status -> {
+            List<Long> ids = repo.findIdsWithStepsStartedBefore(before, PageRequest.of(0, batchSize));
+            List<ExecutedTestCase> testCases = ids.isEmpty() ? List.of() : repo.findWithStepsByIds(ids);
+            return new Batch<ExecutedTestCase>(testCases, batch -> repo.deleteStepsOfTestCases(ids));
+        }));
+    }
+
+    /**
+     * @Description archives the old test cases and deletes them with their remaining steps, batch by batch
+     * @param before - test cases started before this time are deleted
+     * @param now - time of the run, used in the archive file name
+     * @return number of deleted test cases
+     * */
+    private long purgeTestCases(ZonedDateTime before, ZonedDateTime now) throws IOException {
+        return archive("executed-test-cases", now, () -> transactionTemplate.execute(status -> {
+            List<ExecutedTestCaseSummary> testCases = repo.findSummariesStartedBefore(before, PageRequest.of(0, batchSize));
+            List<Long> ids = testCases.stream().map(ExecutedTestCaseSummary::getId).toList();
+            return new Batch<ExecutedTestCaseSummary>(testCases, batch -> {
+                repo.deleteStepsOfTestCases(ids);
+                return repo.deleteTestCases(ids);
+            });
+        }));
+    }
+
+    /**
+     * @Description reads batches until an empty one is returned, every batch is written to the archive as a
+     *      complete gzip member and forced to disk before its rows are deleted in a separate transaction,
+     *      so the archive stays readable up to the last deleted batch when the agent stops in the middle
+     *      of a run. The archive file is created with the first batch
+     * @param name - prefix of the archive file name
+     * @param now - time of the run
+     * @param next - reads the next batch
+     * @return number of archived rows
+     * */
+    private <T> long archive(String name, ZonedDateTime now, BatchReader<T> next) throws IOException {
+        long count = 0;
+        FileChannel channel = null;
+        try {
+            Batch<T> batch = next.read();
+            while (batch != null && !batch.rows().isEmpty()) {
+                if (channel == null) {
+                    Path archive = archiveFolder().resolve(name + "-" + now.format(ARCHIVE_TIME) + ".ndjson.gz");
+                    log.info("archiving into " + archive);
+                    channel = FileChannel.open(archive, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+                }
+                ByteArrayOutputStream member = new ByteArrayOutputStream();
+                try (GZIPOutputStream out = new GZIPOutputStream(member)) {
+                    for (T row : batch.rows()) {
+                        out.write(objectMapper.writeValueAsBytes(row));
+                        out.write(NEW_LINE);
+                    }
+                }
+                ByteBuffer buffer = ByteBuffer.wrap(member.toByteArray());
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+                Batch<T> archived = batch;
+                transactionTemplate.executeWithoutResult(status -> archived.delete().apply(archived.rows()));
+                count += batch.rows().size();
+                batch = next.read();
+            }
+        } finally {
+            if (channel != null) {
+                channel.close();
+            }
+        }
+        return count;
+    }
+
+    private Path archiveFolder() throws IOException {
+        Path folder = Path.of(PropertyReaderHelper.getProperty("destinationpath"),
+                PropertyReaderHelper.getProperty("retentionarchivefolder"));
+        Files.createDirectories(folder);
+        return folder;
+    }
+
+    /**
+     * Rows read by a retention step and the action deleting them
+     */
+    private record Batch<T>(List<T> rows, Function<List<T>, Integer> delete) {
+    }
+
+    @FunctionalInterface
+    private interface BatchReader<T> {
+        Batch<T> read();
+    }
+}
@@ -0,0 +1,158 @@
+package com.kitap.agent.database.service;
+
+import com.kitap.agent.database.model.ExecutedTestCase;
+import com.kitap.agent.database.repository.ExecutionDailyRollupRepository;
+import com.kitap.agent.util.PropertyReaderHelper;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Service keeping the daily rollup of the executed test cases up to date
+ * @author KT1450
+ */
+@Slf4j
+@Service
+public class RollupService {
+    private final ExecutionDailyRollupRepository repo;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ZoneId zone = ZoneId.of(PropertyReaderHelper.getProperty("rollupzone"));
+    private final Object lock = new Object();
+
+    public RollupService(ExecutionDailyRollupRepository repo, JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.repo = repo;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * @Description adds the saved test cases to the daily rollup, the updates are committed in their own
+     *      transaction while holding the lock so concurrent jobs never insert the same rollup row twice.
+     *      When called inside a transaction the rollup is written only after that transaction commits,
+     *      so rolled back test cases are never counted
+     * @param tests - saved test cases
+     * */
+    @Timed(value = "kitap.rollup.add", histogram = true)
+    public void add(List<ExecutedTestCase> tests) {
+        Map<RollupKey, long[]> totals = new HashMap<>();
+        for (ExecutedTestCase test : tests) {
+            if (test.getTestCaseStartedAt() == null) {
+                continue;
+            }
+            long[] total = totals.computeIfAbsent(new RollupKey(test.getAutName(), test.getTestCaseVersion(),
+                    dayOf(test.getTestCaseStartedAt()), test.getResult(), test.getTestCaseName()), key -> new long[2]);
+            total[0]++;
+            total[1] += durationOf(test.getTestCaseStartedAt(), test.getTestCaseFinishedAt());
+        }
+        if (totals.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    write(totals);
+                }
+            });
+        } else {
+            write(totals);
+        }
+    }
+
+    /**
+     * @Description builds the rollup from the executed test cases, used once for the databases
+     *      created before the rollup was introduced
+     * */
+    @Timed("kitap.rollup.backfill")
+    public void backfill() {
+        Map<RollupKey, long[]> totals = new HashMap<>();
+        jdbcTemplate.query("SELECT AUT_NAME, TEST_CASE_VERSION, RESULT, TEST_CASE_NAME, TEST_CASE_STARTED_AT, TEST_CASE_FINISHED_AT " +
+                "FROM EXECUTED_TEST_CASE WHERE TEST_CASE_STARTED_AT IS NOT NULL", resultSet -> {
+            Timestamp started = resultSet.getTimestamp("TEST_CASE_STARTED_AT");
+            Timestamp finished = resultSet.getTimestamp("TEST_CASE_FINISHED_AT");
+            ZonedDateTime startedAt = started.toInstant().atZone(zone);
+            ZonedDateTime finishedAt = finished == null ? null : finished.toInstant().atZone(zone);
+            int version = resultSet.getInt("TEST_CASE_VERSION");
+            long[] total = totals.computeIfAbsent(new RollupKey(resultSet.getString("AUT_NAME"),
+                    resultSet.wasNull() ? null : version, startedAt.toLocalDate(),
+                    resultSet.getString("RESULT"), resultSet.getString("TEST_CASE_NAME")), key -> new long[2]);
+            total[0]++;
+            total[1] += durationOf(startedAt, finishedAt);
+        });
+        write(totals);
+        log.info("rollup backfilled with " + totals.size() + " rows");
+    }
+
+    /**
+     * @Description returns the day of the execution in the rollup time zone
+     * @param startedAt - start time of the test case
+     * @return day of the execution
+     * */
+    public LocalDate dayOf(ZonedDateTime startedAt) {
+        return startedAt.withZoneSameInstant(zone).toLocalDate();
+    }
+
+    private void write(Map<RollupKey, long[]> totals) {
+        if (totals.isEmpty()) {
+            return;
+        }
+        synchronized (lock) {
+            transactionTemplate.executeWithoutResult(status -> totals.forEach((key, total) ->
+                    repo.add(key.autName, key.testCaseVersion, key.executedOn, key.result, key.testCaseName, total[0], total[1])));
+        }
+    }
+
+    private long durationOf(ZonedDateTime startedAt, ZonedDateTime finishedAt) {
+        return finishedAt == null ? 0 : Math.max(0, Duration.between(startedAt, finishedAt).toMillis());
+    }
+
+    /**
+     * Key of a rollup row, null names and results are stored as empty strings so they can be matched
+     */
+    private static final class RollupKey {
+        private final String autName;
+        private final Integer testCaseVersion;
+        private final LocalDate executedOn;
+        private final String result;
+        private final String testCaseName;
+
+        private RollupKey(String autName, Integer testCaseVersion, LocalDate executedOn, String result, String testCaseName) {
+            this.autName = Objects.requireNonNullElse(autName, "");
+            this.testCaseVersion = Objects.requireNonNullElse(testCaseVersion, 0);
+            this.executedOn = executedOn;
+            this.result = Objects.requireNonNullElse(result, "");
+            this.testCaseName = Objects.requireNonNullElse(testCaseName, "");
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof RollupKey that)) return false;
+            return autName.equals(that.autName) && testCaseVersion.equals(that.testCaseVersion)
+                    && executedOn.equals(that.executedOn) && result.equals(that.result) && testCaseName.equals(that.testCaseName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(autName, testCaseVersion, executedOn, result, testCaseName);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.kitap.agent.database.service;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Applies the indexes of the dashboard access paths to the database at startup and builds the daily rollup
+ * when it is empty. Hibernate creates the indexes for new databases, this brings the databases created by
+ * earlier agent versions to the same schema.
+ * Every statement is idempotent so the migration is safe to run on every start
+ * @author KT1450
+ */
+@Slf4j
+@Component
+public class SchemaMigrator implements ApplicationRunner {
+    private static final Map<String, String> INDEXES = new LinkedHashMap<>();
+
+    static {
+        INDEXES.put("IDX_ETC_AUT_VERSION_STARTED",
+                "CREATE INDEX IF NOT EXISTS IDX_ETC_AUT_VERSION_STARTED ON EXECUTED_TEST_CASE (AUT_NAME, TEST_CASE_VERSION, TEST_CASE_STARTED_AT)");
+        INDEXES.put("IDX_ETC_AUT_RESULT_VERSION_STARTED",
+                "CREATE INDEX IF NOT EXISTS IDX_ETC_AUT_RESULT_VERSION_STARTED ON EXECUTED_TEST_CASE (AUT_NAME, RESULT, TEST_CASE_VERSION, TEST_CASE_STARTED_AT)");
+        INDEXES.put("IDX_ETC_AUT_STARTED",
+                "CREATE INDEX IF NOT EXISTS IDX_ETC_AUT_STARTED ON EXECUTED_TEST_CASE (AUT_NAME, TEST_CASE_STARTED_AT)");
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RollupService rollupService;
+
+    public SchemaMigrator(JdbcTemplate jdbcTemplate, RollupService rollupService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rollupService = rollupService;
+    }
+
+    /**
+     * @Description creates the missing indexes, backfills the empty rollup when there are executed test cases
+     *      and refreshes the optimizer statistics when anything was changed
+     * @param args - application arguments
+     * */
+    @Timed("kitap.schema.migrate")
+    @Override
+    public void run(ApplicationArguments args) {
+        int created = 0;
+        for (Map.Entry<String, String> index : INDEXES.entrySet()) {
+            Integer existing = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME = ?", Integer.class, index.getKey());
+            if (existing == null || existing == 0) {
+                log.info("creating index " + index.getKey());
+                jdbcTemplate.execute(index.getValue());
+                created++;
+            }
+        }
+        boolean backfilled = false;
+        Integer rollups = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM EXECUTION_DAILY_ROLLUP", Integer.class);
+        if (rollups == null || rollups == 0) {
+            Boolean hasResults = jdbcTemplate.queryForObject("SELECT EXISTS(SELECT 1 FROM EXECUTED_TEST_CASE WHERE TEST_CASE_STARTED_AT IS NOT NULL)", Boolean.class);
+            if (Boolean.TRUE.equals(hasResults)) {
+                log.info("building the daily rollup from the executed test cases");
+                rollupService.backfill();
+                backfilled = true;
+            }
+        }
+        if (created > 0 || backfilled) {
+            jdbcTemplate.execute("ANALYZE");
+        }
+        log.info("schema migration completed, created " + created + " indexes" + (backfilled ? " and backfilled the daily rollup" : ""));
+    }
+}
@@ -1,10 +1,8 @@
 package com.kitap.agent.execute;
 
 import com.kitap.agent.util.PropertyReaderHelper;
-import com.kitap.testresult.adapter.ConvertedResult;
 import com.kitap.testresult.dto.ExecutedTestCase;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.util.StopWatch;
 
 import java.io.File;
 import java.util.List;
@@ -16,10 +14,13 @@ import java.util.List;
 @Slf4j
 public class APITypeExecution {
 
-    private final ExecutionHelper helper = new ExecutionHelper();
-    private final boolean singleOrMultiCase = true;
+    private final ExecutionHelper helper;
     final String separator = File.separator;
 
+    public APITypeExecution(ExecutionHelper helper) {
+        this.helper = helper;
+    }
+
     /**
      * Method executes api type projects
      * @param projectDirectory defines where test cases should execute
@@ -27,45 +28,30 @@ public class APITypeExecution {
      * @return list of executedTestCase objects
      */
     public List<ExecutedTestCase> apiExecution(String projectDirectory, List<String> tests){
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
-
         // deleting previously existed serenity test result
         helper.deleteTestResults(new File(projectDirectory+separator+"target"+separator+"site"));
 
-        //TODO need to implement single test case execution
-
-        if(singleOrMultiCase){
-            String command = PropertyReaderHelper.getProperty("mavenSerenityRunning");
+        //converting the serenity outcomes while the tests are running when a result sink is set
+        String reportDirectory = projectDirectory+separator+"target"+separator+"site"+separator+"serenity";
+        ResultIngestor ingestor = helper.startIngestion(reportDirectory);
+        try {
+            // running the whole suite or only the requested tests in a single maven invocation
+            String command = helper.withTestFilter(PropertyReaderHelper.getProperty("mavenSerenityRunning"), tests);
             Process process = helper.getProcessor(command, new File(projectDirectory));
 
             // getting output from processor
-            String output = helper.processOutput(process);
-            log.info(output);
+            helper.processOutput(process);
 
             // method for exiting processor
             helper.throwError(process);
-
-        }
-        else {
-            for (String testCaseName : tests) {
-                String command = PropertyReaderHelper.getProperty("mavenSerenityRunning");
-                Process process = helper.getProcessor(command, new File(projectDirectory));
-
-                // getting output from processor
-                String output = helper.processOutput(process);
-
-                // method for exiting processor
-                helper.throwError(process);
+        } catch (RuntimeException e) {
+            if (ingestor != null) {
+                ingestor.stop();
             }
+            throw e;
         }
 
-        // Converting result into base format
-        ConvertedResult adapter = new ConvertedResult();
         log.info("completed apiexecution method with returning list of executedTestCase objects");
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
-        return adapter.obtainSerenityTestResult(projectDirectory+separator+"target"+separator+"site"+separator+"serenity");
+        return helper.serenityResults(ingestor, reportDirectory);
     }
 }
\ No newline at end of file
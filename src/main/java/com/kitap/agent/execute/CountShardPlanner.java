@@ -0,0 +1,34 @@
+package com.kitap.agent.execute;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * IShardPlanner implemented class which distributes the test classes by count in round robin order
+ * @author KT1450
+ */
+@Slf4j
+public class CountShardPlanner implements IShardPlanner {
+
+    /**
+     * Method distributes the test classes equally by count, empty shards are not returned
+     * @param testClasses fully qualified names of the test classes
+     * @param shardCount maximum number of shards
+     * @return list of shards
+     */
+    @Override
+    public List<List<String>> plan(List<String> testClasses, int shardCount) {
+        int shards = Math.max(1, Math.min(shardCount, testClasses.size()));
+        List<List<String>> plan = new ArrayList<>(shards);
+        for (int i = 0; i < shards; i++) {
+            plan.add(new ArrayList<>());
+        }
+        for (int i = 0; i < testClasses.size(); i++) {
+            plan.get(i % shards).add(testClasses.get(i));
+        }
+        log.info("planned {} test classes into {} shards by count", testClasses.size(), shards);
+        return plan;
+    }
+}
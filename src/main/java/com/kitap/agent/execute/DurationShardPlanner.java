@@ -0,0 +1,102 @@
+package com.kitap.agent.execute;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * IShardPlanner implemented class which packs the test classes into shards of nearly equal duration,
+ * longest test class first into the shard with the least planned duration
+ * @author KT1450
+ */
+@Slf4j
+public class DurationShardPlanner implements IShardPlanner {
+    private final Map<String, Long> durations;
+    private final long defaultDuration;
+
+    /**
+     * Creates the planner from the recorded durations
+     * @param durations recorded duration in milliseconds of a whole test class by its name, names are matched
+     *                  case insensitive and ignoring the package and non alphanumeric characters
+     * @param defaultDuration duration in milliseconds used for test classes without history
+     */
+    public DurationShardPlanner(Map<String, Long> durations, long defaultDuration) {
+        this.durations = durations;
+        this.defaultDuration = defaultDuration;
+    }
+
+    /**
+     * Method distributes the test classes by longest processing time first, empty shards are not returned
+     * @param testClasses fully qualified names of the test classes
+     * @param shardCount maximum number of shards
+     * @return list of shards
+     */
+    @Override
+    public List<List<String>> plan(List<String> testClasses, int shardCount) {
+        int shards = Math.max(1, Math.min(shardCount, testClasses.size()));
+        List<String> ordered = new ArrayList<>(testClasses);
+        ordered.sort(Comparator.comparingLong(this::durationOf).reversed());
+
+        PriorityQueue<Shard> queue = new PriorityQueue<>(Comparator.comparingLong(Shard::getDuration));
+        List<Shard> plan = new ArrayList<>(shards);
+        for (int i = 0; i < shards; i++) {
+            Shard shard = new Shard();
+            plan.add(shard);
+            queue.add(shard);
+        }
+        for (String testClass : ordered) {
+            Shard shard = queue.poll();
+            shard.add(testClass, durationOf(testClass));
+            queue.add(shard);
+        }
+
+        List<List<String>> result = new ArrayList<>(shards);
+        for (Shard shard : plan) {
+            log.info("planned shard with {} test classes and {} ms estimated duration", shard.testClasses.size(), shard.duration);
+            result.add(shard.testClasses);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the recorded duration of the test class or the default duration
+     * @param testClass name of the test class
+     * @return duration in milliseconds
+     */
+    private long durationOf(String testClass) {
+        Long duration = durations.get(normalize(testClass));
+        return duration == null ? defaultDuration : duration;
+    }
+
+    /**
+     * Normalizes a test class name so that fully qualified and simple class names of the same test class are matched
+     * @param name test class name
+     * @return normalized name
+     */
+    public static String normalize(String name) {
+        String simpleName = name.substring(name.lastIndexOf('.') + 1);
+        return simpleName.replaceAll("[^A-Za-z0-9]", "").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Test classes and the planned duration of a shard
+     */
+    private static class Shard {
+        private final List<String> testClasses = new ArrayList<>();
+        private long duration;
+
+        private void add(String testClass, long testDuration) {
+            testClasses.add(testClass);
+            duration += testDuration;
+        }
+
+        private long getDuration() {
+            return duration;
+        }
+    }
+}
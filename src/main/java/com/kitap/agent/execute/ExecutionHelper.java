@@ -1,12 +1,29 @@
 package com.kitap.agent.execute;
 
+import com.kitap.agent.metrics.MethodTimers;
+import com.kitap.agent.process.BuildRunnerFactory;
+import com.kitap.agent.process.IBuildRunner;
+import com.kitap.agent.process.ProcessOutputPipeline;
+import com.kitap.agent.process.ProcessTree;
 import com.kitap.agent.util.PropertyReaderHelper;
+import com.kitap.testresult.adapter.ConvertedResult;
+import com.kitap.testresult.dto.ExecutedTestCase;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.util.StopWatch;
 
 import java.io.*;
-import java.time.LocalDateTime;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
 
 /**
  * Class contains functionality that helps in the execution of tests
@@ -15,15 +32,118 @@ import java.util.Objects;
 @Slf4j
 public class ExecutionHelper {
 
+    private static final Pattern TEST_NAME = Pattern.compile("[\\w.$#*+\\-]+");
+    private static final Timer PROCESS_TIMER = MethodTimers.timer("kitap.execution.process");
     final String separator = File.separator;
+    private final Map<String, String> systemProperties = new LinkedHashMap<>();
+    private final List<Consumer<String>> outputListeners = new CopyOnWriteArrayList<>();
+    private final Set<Process> runningProcesses = ConcurrentHashMap.newKeySet();
+    private final TestClassIndex testClasses = new TestClassIndex();
+    private volatile boolean cancelled;
+    private volatile RuntimeException failure;
+    private volatile Consumer<List<ExecutedTestCase>> resultSink;
+
+    /**
+     * Adds a -D system property to every command started by this helper, used to override
+     * values of the test project's serenity.properties without modifying the file
+     * @param key name of the property
+     * @param value value of the property
+     */
+    public void addSystemProperty(String key, String value){
+        systemProperties.put(key, value);
+    }
+
+    /**
+     * Adds a listener which receives every output line of the processes started by this helper
+     * @param listener line consumer, called on the output reader threads
+     */
+    public void addOutputListener(Consumer<String> listener){
+        outputListeners.add(listener);
+    }
+
+    /**
+     * Sets the sink receiving the test results while the execution is running, when it is set the executions
+     * hand over their serenity results in micro batches instead of returning them
+     * @param resultSink consumer of the converted test cases
+     */
+    public void setResultSink(Consumer<List<ExecutedTestCase>> resultSink){
+        this.resultSink = resultSink;
+    }
+
+    /**
+     * @return test classes of the serenity results read so far by this helper
+     */
+    public TestClassIndex getTestClasses(){
+        return testClasses;
+    }
+
+    /**
+     * Method starts ingesting the serenity outcomes written into the report folder, to be called before the
+     * execution process is started
+     * @param reportDirectory serenity report folder
+     * @return running ingestor or null when no result sink is set
+     */
+    protected ResultIngestor startIngestion(String reportDirectory){
+        Consumer<List<ExecutedTestCase>> sink = resultSink;
+        return sink == null ? null : new ResultIngestor(reportDirectory, sink, testClasses, this::fail);
+    }
+
+    /**
+     * Method returns the serenity results of the finished execution, when the results were ingested
+     * during the execution the remaining ones are handed to the sink and an empty list is returned
+     * @param ingestor ingestor started for the execution, may be null
+     * @param reportDirectory serenity report folder
+     * @return executed test cases not yet handed to the result sink
+     */
+    protected List<ExecutedTestCase> serenityResults(ResultIngestor ingestor, String reportDirectory){
+        if (ingestor != null) {
+            ingestor.finish();
+            return new ArrayList<>();
+        }
+        testClasses.addDirectory(reportDirectory);
+        return new ConvertedResult().obtainSerenityTestResult(reportDirectory);
+    }
+
+    /**
+     * Cancels the execution, the running processes are terminated with all their descendants
+     * and no new process is started by this helper afterwards
+     */
+    public void cancel(){
+        List<Process> processes;
+        synchronized (runningProcesses) {
+            cancelled = true;
+            processes = new ArrayList<>(runningProcesses);
+        }
+        log.info("cancelling execution with {} running processes", processes.size());
+        long grace = Long.parseLong(PropertyReaderHelper.getProperty("processkillgraceperiod")) * 1000;
+        for (Process process : processes) {
+            ProcessTree.destroy(process, grace);
+        }
+    }
+
+    /**
+     * Fails the execution, the running processes are terminated like on cancel and the waiting
+     * execution methods throw the given failure instead of a cancellation
+     * @param failure reason of the failure
+     */
+    public void fail(RuntimeException failure){
+        log.error("failing execution: " + failure);
+        this.failure = failure;
+        cancel();
+    }
+
+    /**
+     * @return true when the execution is cancelled
+     */
+    public boolean isCancelled(){
+        return cancelled;
+    }
 
     /**
      * Method deletes previously existed test results from target folder
      * @param file - target folder path
      */
     protected void deleteTestResults(File file){
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
         log.info("deleting test results by using file as input");
         if (file.exists()) {
             for (File subFile : Objects.requireNonNull(file.listFiles())) {
@@ -34,65 +154,72 @@ public class ExecutionHelper {
             }
         }
         log.info("deleting test results completed");
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
     }
 
     /**
-     * Method returns the process where command should run
+     * Method appends the test filter to the maven command so that only the given test classes
+     * or methods (Class#method) are executed, whole suite is executed when no tests are given
+     * @param command - maven command to execute
+     * @param tests - names of the test classes or methods
+     * @return command with the test filter
+     */
+    protected String withTestFilter(String command, List<String> tests){
+        if (tests == null || tests.isEmpty()) {
+            log.info("no tests are selected, executing the whole suite");
+            return command;
+        }
+        for (String test : tests) {
+            if (test == null || !TEST_NAME.matcher(test).matches()) {
+                log.error("invalid test name #" + test);
+                throw new IllegalArgumentException("invalid test name " + test);
+            }
+        }
+        String filter = MessageFormat.format(PropertyReaderHelper.getProperty("mavenTestFilter"), String.join(",", tests));
+        log.info("executing {} selected tests", tests.size());
+        return command + " " + filter;
+    }
+
+    /**
+     * Method returns the process where command should run, the system properties are passed
+     * as separate arguments so that their values are never split or read as further arguments
      * @param command - command to execute
      * @param directory - location of where command is executing
      * @return Process - created process at a particular location
      */
     protected Process getProcessor(String command, File directory){
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
         log.info("getting process by using command and filedirectory as inputs");
         Process process;
-        try {
-            process = Runtime.getRuntime().exec(command,null, directory);
-        } catch (IOException e) {
-            log.error(e.toString());
-            throw new RuntimeException(e);
+        List<String> qualifiedCommand = new ArrayList<>(IBuildRunner.split(command));
+        systemProperties.forEach((key, value) -> qualifiedCommand.add("-D" + key + "=" + value));
+        synchronized (runningProcesses) {
+            if (cancelled) {
+                log.warn("execution is cancelled, not running command {}", command);
+                throw stopped();
+            }
+            process = BuildRunnerFactory.getBuildRunner().start(qualifiedCommand, directory);
+            runningProcesses.add(process);
         }
         log.info("getting process completed");
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
         return process;
     }
 
     /**
-     * Method converts the console prints to string and returns the same
-     * @param process - Completed process which holding all the information
-     * @return String - created process at a particular location
+     * Method streams the stdout and stderr of the process line by line to the log and the output listeners
+     * until the process closes them
+     * @param process - started process
+     * @return String - last lines of the output
      */
     protected String processOutput(Process process){
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
-        log.info("output processing by using process object as input");
-        StringBuilder output = new StringBuilder();
-        InputStreamReader inputStreamReader = new InputStreamReader(process.getInputStream());
-        BufferedReader reader = new BufferedReader(inputStreamReader);
-
-        String line;
+        Timer.Sample sample = MethodTimers.start();
         try {
-            while ((line = reader.readLine()) != null) {
-                output.append(line).append("\n");
-            }
-            reader.close();
+            log.info("output processing by using process object as input");
+            ProcessOutputPipeline pipeline = new ProcessOutputPipeline(process, "maven-" + process.pid());
+            outputListeners.forEach(pipeline::subscribe);
+            String tail = pipeline.start().await();
+            return tail;
+        } finally {
+            sample.stop(PROCESS_TIMER);
         }
-        catch(IOException e){
-            log.error(e.toString());
-            throw new RuntimeException(e);
-        }
-        output.append(LocalDateTime.now());
-        log.info("Processed output {}",(output));
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
-        return String.valueOf(output);
     }
 
     /**
@@ -100,11 +227,14 @@ public class ExecutionHelper {
      * @param process - Completed process which holding all the information
      */
     protected void throwError(Process process){
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
         int exitValue;
         try {
             exitValue = process.waitFor();
+            runningProcesses.remove(process);
+            if (cancelled) {
+                log.warn("processor was terminated because the execution is cancelled");
+                throw stopped();
+            }
             if (exitValue == 0) {
                 log.info("processor exited code is 0");
             } else {
@@ -115,9 +245,14 @@ public class ExecutionHelper {
             log.error(e.toString());
             throw new RuntimeException(e);
         }
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
+    }
+
+    /**
+     * @return failure of the execution or a cancellation when the execution was cancelled
+     */
+    private RuntimeException stopped(){
+        RuntimeException reason = failure;
+        return reason != null ? reason : new CancellationException("execution cancelled");
     }
 
     /**
@@ -145,8 +280,6 @@ public class ExecutionHelper {
      * @param number number of folders
      */
     private void createFolders(String path, int number){
-        StopWatch stopWatch= new StopWatch();
-        stopWatch.start();
         File file = new File(path);
         if (number == 0){
             file.mkdir();
@@ -154,9 +287,6 @@ public class ExecutionHelper {
             file.mkdirs();
         }
         log.info("created folders by using path and number as input");
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
     }
 
     /**
@@ -164,16 +294,11 @@ public class ExecutionHelper {
      * @param file File object of which new file has to create
      */
     private void createFile(File file){
-        StopWatch stopWatch= new StopWatch();
-        stopWatch.start();
         try {
             file.createNewFile();
             log.info("created new file by using file object as input");
         } catch (IOException e) {
             e.printStackTrace();
         }
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
     }
 }
\ No newline at end of file
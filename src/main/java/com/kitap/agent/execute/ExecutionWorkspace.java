@@ -0,0 +1,126 @@
+package com.kitap.agent.execute;
+
+import com.kitap.agent.generate.util.ParallelFileCopier;
+import com.kitap.agent.util.PropertyReaderHelper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Class contains functionality to prepare an isolated working copy of an AUT version,
+ * so that executions running at the same time do not share the target folder or the serenity.properties file
+ * @author KT1450
+ */
+@Slf4j
+public class ExecutionWorkspace {
+
+    private static final String TARGET = "target";
+    private static final Map<String, ReentrantLock> LOCKS = new ConcurrentHashMap<>();
+
+    /**
+     * Acquires the folder an execution runs in, the version folder or a working copy, for one execution.
+     * An execution running in the same folder is waited for, so that the executions never clean the files
+     * or delete the reports of each other, the shard working copies of the execution are covered as well
+     * @param folder folder the execution writes its target folder and merged reports into
+     * @param cancelled tells whether the execution was cancelled while waiting
+     * @return lock to be released by the same thread when the execution is finished
+     * @throws CancellationException when the execution is cancelled while waiting
+     */
+    public static Lock acquire(String folder, BooleanSupplier cancelled) {
+        return lock(Path.of(folder).toAbsolutePath().normalize().toString(), cancelled);
+    }
+
+    private static Lock lock(String key, BooleanSupplier cancelled) {
+        ReentrantLock lock = LOCKS.computeIfAbsent(key, k -> new ReentrantLock());
+        try {
+            if (!lock.tryLock()) {
+                log.info("{} is in use, waiting for the running execution", key);
+                while (!lock.tryLock(1, TimeUnit.SECONDS)) {
+                    if (cancelled.getAsBoolean()) {
+                        throw new CancellationException("execution cancelled");
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error(e.toString());
+            throw new RuntimeException(e);
+        }
+        return lock;
+    }
+
+    /**
+     * Returns the path of the working copy of a version for the given key
+     * @param testType type of the AUT
+     * @param aut name of the AUT
+     * @param version version of the AUT
+     * @param key unique name of the working copy like the browser name
+     * @return path of the working copy
+     * @throws IllegalArgumentException when the working copy resolves outside of the workspaces folder
+     */
+    public static Path resolve(String testType, String aut, String version, String key) {
+        Path root = Path.of(PropertyReaderHelper.getProperty("destinationpath"), "workspaces").toAbsolutePath().normalize();
+        Path workspace = root.resolve(Path.of(testType, aut, version, key)).normalize();
+        if (!workspace.startsWith(root) || workspace.getNameCount() != root.getNameCount() + 4) {
+            log.error("working copy {} is outside of {}", workspace, root);
+            throw new IllegalArgumentException("invalid working copy " + workspace);
+        }
+        return workspace;
+    }
+
+    /**
+     * Prepares the working copy of a version for the given key, the target folder of an earlier
+     * working copy is kept so that maven can compile incrementally, build output and version control
+     * folders of the version are not copied
+     * @param versionPath path of the AUT version to be copied
+     * @param testType type of the AUT
+     * @param aut name of the AUT
+     * @param version version of the AUT
+     * @param key unique name of the working copy like the browser name
+     * @return path of the working copy
+     * @throws IllegalArgumentException when the working copy resolves outside of the workspaces folder
+     */
+    public String prepare(String versionPath, String testType, String aut, String version, String key) {
+        Path source = Path.of(versionPath);
+        Path workspace = resolve(testType, aut, version, key);
+        log.info("preparing working copy of {} at {}", source, workspace);
+        try {
+            Files.createDirectories(workspace);
+            clean(workspace);
+            new ParallelFileCopier().copy(source, workspace);
+        } catch (IOException e) {
+            log.error(e.toString());
+            throw new RuntimeException(e);
+        }
+        log.info("working copy prepared at {}", workspace);
+        return workspace.toString();
+    }
+
+    /**
+     * Deletes everything from the working copy except the target folder
+     * @param workspace path of the working copy
+     * @throws IOException when a file cannot be deleted
+     */
+    private void clean(Path workspace) throws IOException {
+        try (Stream<Path> children = Files.list(workspace)) {
+            for (Path child : children.filter(path -> !path.getFileName().toString().equals(TARGET)).toList()) {
+                try (Stream<Path> tree = Files.walk(child)) {
+                    for (Path path : tree.sorted(Comparator.reverseOrder()).toList()) {
+                        Files.delete(path);
+                    }
+                }
+            }
+        }
+    }
+}
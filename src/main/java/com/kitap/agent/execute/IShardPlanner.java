@@ -0,0 +1,17 @@
+package com.kitap.agent.execute;
+
+import java.util.List;
+
+/**
+ * Interface used for splitting the test classes of an execution into shards
+ * @author KT1450
+ */
+public interface IShardPlanner {
+    /**
+     * abstract method used for distributing the test classes into shards
+     * @param testClasses fully qualified names of the test classes
+     * @param shardCount maximum number of shards
+     * @return list of shards, each shard holding the test classes to be executed together
+     */
+    List<List<String>> plan(List<String> testClasses, int shardCount);
+}
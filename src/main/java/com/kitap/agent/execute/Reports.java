@@ -1,7 +1,6 @@
 package com.kitap.agent.execute;
 
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.util.StopWatch;
 
 import java.io.File;
 import java.io.IOException;
@@ -22,12 +21,14 @@ public class Reports {
      * @param path source path of the logo
      */
      public void changeLogo(String path) {
-            StopWatch stopWatch = new StopWatch();
-            stopWatch.start();
             log.info("changing the logo in report");
             try {
                 File src = new File(path + separator + "serenity-logo.png");
                 File dest = new File(path + separator + "target" + separator + "site" + separator + "serenity" + separator + "images" + separator + "serenity-logo.png");
+                if (!src.exists() || !dest.exists()) {
+                    log.warn("serenity report not found at " + path + ", logo not changed");
+                    return;
+                }
 
                 long Old = dest.lastModified();
                 long Present = new Date().getTime();
@@ -60,9 +61,6 @@ public class Reports {
                     }
                 }
                 log.info("logo changed in report");
-                stopWatch.stop();
-                log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                        " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
             }
             catch (IOException e){
                 e.printStackTrace();
@@ -75,8 +73,6 @@ public class Reports {
      * @param reportFilePath path of the report
      */
     private void changeName(String reportFilePath){
-            StopWatch stopWatch = new StopWatch();
-            stopWatch.start();
             log.info("changing the name by using reportFilePath as input");
             try {
                 Path reportPath = Path.of(reportFilePath);
@@ -99,9 +95,6 @@ public class Reports {
 
                 Files.writeString(reportPath, str);
                 log.info("name changed for report");
-                stopWatch.stop();
-                log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                        " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
@@ -0,0 +1,188 @@
+package com.kitap.agent.execute;
+
+import com.kitap.agent.util.PropertyReaderHelper;
+import com.kitap.testresult.adapter.ConvertedResult;
+import com.kitap.testresult.dto.ExecutedTestCase;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Class used for converting the serenity test outcomes while the execution is running. The report folder
+ * is polled for outcome files, a file is taken once its size did not change between two polls, and the
+ * finished files are converted and handed to the sink in micro batches, so only one batch of results
+ * is held in memory at a time
+ * @author KT1450
+ */
+@Slf4j
+public class ResultIngestor {
+    private final Path reportDirectory;
+    private final Consumer<List<ExecutedTestCase>> sink;
+    private final TestClassIndex testClasses;
+    private final Consumer<RuntimeException> onFailure;
+    private final Pattern outcomeFile = Pattern.compile(PropertyReaderHelper.getProperty("serenityoutcomepattern"));
+    private final int batchSize = Integer.parseInt(PropertyReaderHelper.getProperty("ingestionbatchsize"));
+    private final long pollInterval = Long.parseLong(PropertyReaderHelper.getProperty("ingestionpollinterval"));
+    private final Set<Path> ingested = new HashSet<>();
+    private final Map<Path, Long> sizes = new HashMap<>();
+    private final Thread poller;
+    private volatile boolean running = true;
+    private volatile RuntimeException failure;
+    private int count;
+
+    /**
+     * Creates the ingestor and starts polling the report folder
+     * @param reportDirectory serenity report folder of the execution
+     * @param sink receives the converted test cases of every micro batch, called on the polling thread
+     * @param testClasses index the test classes of the outcome files are added to before they are handed to the sink
+     * @param onFailure called on the polling thread when the ingestion fails, polling is stopped afterwards
+     */
+    public ResultIngestor(String reportDirectory, Consumer<List<ExecutedTestCase>> sink, TestClassIndex testClasses,
+                          Consumer<RuntimeException> onFailure) {
+        this.reportDirectory = Path.of(reportDirectory);
+        this.sink = sink;
+        this.testClasses = testClasses;
+        this.onFailure = onFailure;
+        this.poller = new Thread(this::poll, "result-ingestor");
+        this.poller.setDaemon(true);
+        this.poller.start();
+        log.info("ingesting test outcomes from {}", reportDirectory);
+    }
+
+    /**
+     * Stops polling and ingests the remaining outcome files, to be called after the execution process exited
+     * @return number of ingested test cases
+     */
+    public int finish() {
+        running = false;
+        poller.interrupt();
+        try {
+            poller.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error(e.toString());
+            throw new RuntimeException(e);
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        ingest(true);
+        log.info("ingested {} test outcomes from {}", count, reportDirectory);
+        return count;
+    }
+
+    /**
+     * Stops polling without ingesting the remaining files, used when the execution failed
+     */
+    public void stop() {
+        running = false;
+        poller.interrupt();
+    }
+
+    private void poll() {
+        while (running) {
+            try {
+                Thread.sleep(pollInterval);
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                ingest(false);
+            } catch (RuntimeException e) {
+                log.error("ingestion of test outcomes failed: " + e);
+                failure = e;
+                onFailure.accept(e);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Converts and hands over the finished outcome files in batches, the files of a batch are marked
+     * as ingested only after the sink accepted them, so a failed batch is taken again
+     * @param all true to take all the files regardless of whether their size is stable
+     */
+    private synchronized void ingest(boolean all) {
+        List<Path> finished = findFinished(all);
+        for (int i = 0; i < finished.size(); i += batchSize) {
+            List<Path> batch = finished.subList(i, Math.min(i + batchSize, finished.size()));
+            testClasses.add(batch);
+            List<ExecutedTestCase> tests = convert(batch);
+            if (!tests.isEmpty()) {
+                sink.accept(tests);
+            }
+            ingested.addAll(batch);
+            count += tests.size();
+        }
+    }
+
+    private List<Path> findFinished(boolean all) {
+        List<Path> finished = new ArrayList<>();
+        if (!Files.isDirectory(reportDirectory)) {
+            return finished;
+        }
+        try (Stream<Path> files = Files.list(reportDirectory)) {
+            for (Path file : files.filter(path -> outcomeFile.matcher(path.getFileName().toString()).matches())
+                    .sorted(Comparator.naturalOrder()).toList()) {
+                if (ingested.contains(file)) {
+                    continue;
+                }
+                long size = Files.size(file);
+                Long previous = sizes.put(file, size);
+                if (all || (previous != null && previous == size && size > 0)) {
+                    finished.add(file);
+                }
+            }
+        } catch (IOException e) {
+            log.error(e.toString());
+            throw new RuntimeException(e);
+        }
+        return finished;
+    }
+
+    /**
+     * Converts the outcome files by staging them into a separate folder read by the result adapter
+     * @param batch outcome files
+     * @return converted test cases
+     */
+    private List<ExecutedTestCase> convert(List<Path> batch) {
+        Path staging = null;
+        try {
+            staging = Files.createTempDirectory("kitap-ingest");
+            for (Path file : batch) {
+                Files.copy(file, staging.resolve(file.getFileName()));
+            }
+            return new ConvertedResult().obtainSerenityTestResult(staging.toString());
+        } catch (IOException e) {
+            log.error(e.toString());
+            throw new RuntimeException(e);
+        } finally {
+            delete(staging);
+        }
+    }
+
+    private void delete(Path staging) {
+        if (staging == null) {
+            return;
+        }
+        try (Stream<Path> tree = Files.walk(staging)) {
+            for (Path path : tree.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException e) {
+            log.warn("unable to delete " + staging + ": " + e);
+        }
+    }
+}
@@ -4,7 +4,6 @@ import com.kitap.agent.util.PropertyReaderHelper;
 import com.kitap.testresult.adapter.ConvertedResult;
 import com.kitap.testresult.dto.ExecutedTestCase;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.util.StopWatch;
 
 import java.io.File;
 import java.util.List;
@@ -14,9 +13,13 @@ import java.util.List;
  */
 @Slf4j
 public class SalesForceTypeExecution {
-    final ExecutionHelper helper = new ExecutionHelper();
+    private final ExecutionHelper helper;
     final String separator = File.separator;
 
+    public SalesForceTypeExecution(ExecutionHelper helper) {
+        this.helper = helper;
+    }
+
     /**
      * Method executes sales force type projects
      * @param projectDirectory defines where test cases should execute
@@ -24,8 +27,6 @@ public class SalesForceTypeExecution {
      * @return list of executedTestCase objects
      */
     public List<ExecutedTestCase> sfExecution(String projectDirectory, List<String> tests){
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
         helper.ifReportsExists(projectDirectory);
 
         String command = PropertyReaderHelper.getProperty("mavenTestNgRunning");
@@ -40,9 +41,6 @@ public class SalesForceTypeExecution {
         //extracting final executed reports
         ConvertedResult adapter = new ConvertedResult();
         log.info("salesforce execution and returned list of executedTestCase objects");
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
         return adapter.obtainTestNGTestResult(projectDirectory +separator+ PropertyReaderHelper.getProperty("testngreportsfilepath"));
     }
 }
\ No newline at end of file
@@ -0,0 +1,183 @@
+package com.kitap.agent.execute;
+
+import com.google.gson.Gson;
+import com.kitap.agent.util.PropertyReaderHelper;
+import com.kitap.testresult.dto.ExecutedTestCase;
+import com.kitap.testresult.dto.generate.AUT;
+import com.kitap.testresult.dto.generate.Clazz;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Class containing functionality for executing the test classes of a serenity project in parallel shards,
+ * every shard runs in its own working copy so that the forked maven processes do not share the target folder
+ * @author KT1450
+ */
+@Slf4j
+public class ShardedExecution {
+    private final ExecutionHelper helper;
+    private final IShardPlanner planner;
+    final String separator = File.separator;
+
+    public ShardedExecution(ExecutionHelper helper, IShardPlanner planner) {
+        this.helper = helper;
+        this.planner = planner;
+    }
+
+    /**
+     * Method executes the test classes in shards and merges the results and the serenity reports
+     * @param versionPath path of the AUT version containing the generated metadata json
+     * @param executionPath path where the merged serenity report is written
+     * @param testType type of the AUT
+     * @param aut name of the AUT
+     * @param version version of the AUT
+     * @param key prefix of the shard working copies like the browser name
+     * @param tests selected test classes, all the test classes of the metadata json are used when empty
+     * @param shardCount maximum number of shards
+     * @return merged list of executed test cases of all the shards
+     */
+    public List<ExecutedTestCase> execute(String versionPath, String executionPath, String testType, String aut,
+                                          String version, String key, List<String> tests, int shardCount){
+        List<String> testClasses = (tests == null || tests.isEmpty()) ? readTestClasses(versionPath, aut) : tests;
+        List<List<String>> shards = planner.plan(testClasses, shardCount);
+        log.info("executing {} test classes of {} in {} shards", testClasses.size(), aut, shards.size());
+
+        ExecutorService executor = Executors.newFixedThreadPool(shards.size());
+        List<Future<List<ExecutedTestCase>>> futures = new ArrayList<>(shards.size());
+        List<String> shardPaths = new ArrayList<>(shards.size());
+        try {
+            for (int i = 0; i < shards.size(); i++) {
+                String shardPath = new ExecutionWorkspace().prepare(versionPath, testType, aut, version, key + "-shard-" + (i + 1));
+                List<String> shard = shards.get(i);
+                shardPaths.add(shardPath);
+                futures.add(executor.submit(() -> executeShard(shardPath, shard)));
+            }
+            List<ExecutedTestCase> result = new ArrayList<>();
+            for (Future<List<ExecutedTestCase>> future : futures) {
+                result.addAll(future.get());
+            }
+            mergeReports(shardPaths, executionPath);
+            log.info("sharded execution completed with {} executed test cases", result.size());
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error(e.toString());
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            log.error(e.getCause().toString());
+            throw new RuntimeException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Method executes a single shard in its working copy
+     * @param shardPath path of the working copy of the shard
+     * @param testClasses test classes of the shard
+     * @return executed test cases of the shard
+     */
+    private List<ExecutedTestCase> executeShard(String shardPath, List<String> testClasses){
+        log.info("executing shard at {} with {} test classes", shardPath, testClasses.size());
+        helper.deleteTestResults(new File(shardPath+separator+"target"+separator+"site"));
+        String reportDirectory = shardPath+separator+"target"+separator+"site"+separator+"serenity";
+        ResultIngestor ingestor = helper.startIngestion(reportDirectory);
+        try {
+            String command = helper.withTestFilter(PropertyReaderHelper.getProperty("mavenSerenityRunning"), testClasses);
+            Process process = helper.getProcessor(command, new File(shardPath));
+            helper.processOutput(process);
+            helper.throwError(process);
+        } catch (RuntimeException e) {
+            if (ingestor != null) {
+                ingestor.stop();
+            }
+            throw e;
+        }
+        return helper.serenityResults(ingestor, reportDirectory);
+    }
+
+    /**
+     * Method reads the fully qualified names of the test classes from the generated metadata json
+     * @param versionPath path of the AUT version
+     * @param aut name of the AUT
+     * @return list of test class names
+     */
+    private List<String> readTestClasses(String versionPath, String aut){
+        Path metadata = Path.of(versionPath, aut + ".json");
+        try (Reader reader = Files.newBufferedReader(metadata)) {
+            AUT details = new Gson().fromJson(reader, AUT.class);
+            List<String> testClasses = new ArrayList<>();
+            if (details != null && details.getTestCases() != null) {
+                for (Clazz clazz : details.getTestCases()) {
+                    testClasses.add(clazz.getFullyQualifiedName());
+                }
+            }
+            if (testClasses.isEmpty()) {
+                log.error("no test classes found in " + metadata);
+                throw new IllegalStateException("no test classes found in " + metadata);
+            }
+            return testClasses;
+        } catch (IOException e) {
+            log.error(e.toString());
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Method copies the serenity outputs of all the shards into the execution path and
+     * aggregates them into a single report
+     * @param shardPaths working copies of the shards
+     * @param executionPath path where the merged report is written
+     */
+    private void mergeReports(List<String> shardPaths, String executionPath){
+        log.info("merging serenity outputs of {} shards into {}", shardPaths.size(), executionPath);
+        Path serenity = Path.of("target", "site", "serenity");
+        Path destination = Path.of(executionPath).resolve(serenity);
+        helper.deleteTestResults(new File(executionPath+separator+"target"+separator+"site"));
+        try {
+            Files.createDirectories(destination);
+            for (String shardPath : shardPaths) {
+                Path source = Path.of(shardPath).resolve(serenity);
+                if (!Files.isDirectory(source)) {
+                    log.warn("no serenity output found at {}", source);
+                    continue;
+                }
+                Files.walkFileTree(source, new SimpleFileVisitor<>() {
+                    @Override
+                    public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                        Files.createDirectories(destination.resolve(source.relativize(dir)));
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                        Files.copy(file, destination.resolve(source.relativize(file)), StandardCopyOption.REPLACE_EXISTING);
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            }
+        } catch (IOException e) {
+            log.error(e.toString());
+            throw new RuntimeException(e);
+        }
+        Process process = helper.getProcessor(PropertyReaderHelper.getProperty("mavenSerenityAggregate"), new File(executionPath));
+        helper.processOutput(process);
+        helper.throwError(process);
+        log.info("serenity outputs merged");
+    }
+}
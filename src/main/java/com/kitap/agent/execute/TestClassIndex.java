@@ -0,0 +1,89 @@
+package com.kitap.agent.execute;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.kitap.agent.util.PropertyReaderHelper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Class used for knowing the test class of the executed test cases. The serenity outcome files name the
+ * test case by its title and method name, and the test class in the story class name of the user story
+ * @author KT1450
+ */
+@Slf4j
+public class TestClassIndex {
+    private final Pattern outcomeFile = Pattern.compile(PropertyReaderHelper.getProperty("serenityoutcomepattern"));
+    private final Map<String, String> testClasses = new ConcurrentHashMap<>();
+
+    /**
+     * Reads the test classes of all the outcome files of the report folder
+     * @param reportDirectory serenity report folder
+     */
+    public void addDirectory(String reportDirectory) {
+        Path directory = Path.of(reportDirectory);
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            add(files.filter(path -> outcomeFile.matcher(path.getFileName().toString()).matches()).toList());
+        } catch (IOException e) {
+            log.error(e.toString());
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Reads the test classes of the given outcome files, files which cannot be read are skipped
+     * @param outcomeFiles serenity outcome files
+     */
+    public void add(Collection<Path> outcomeFiles) {
+        for (Path file : outcomeFiles) {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                JsonObject outcome = JsonParser.parseReader(reader).getAsJsonObject();
+                String testClass = testClassOf(outcome);
+                if (testClass != null) {
+                    put(outcome.get("title"), testClass);
+                    put(outcome.get("name"), testClass);
+                }
+            } catch (IOException | RuntimeException e) {
+                log.warn("unable to read the test class of " + file + ": " + e);
+            }
+        }
+    }
+
+    /**
+     * Returns the test class of an executed test case
+     * @param testCaseName name of the executed test case
+     * @return fully qualified name of the test class or null when it is not known
+     */
+    public String get(String testCaseName) {
+        return testCaseName == null ? null : testClasses.get(testCaseName);
+    }
+
+    private String testClassOf(JsonObject outcome) {
+        JsonElement userStory = outcome.get("userStory");
+        if (userStory == null || !userStory.isJsonObject()) {
+            return null;
+        }
+        JsonElement storyClassName = userStory.getAsJsonObject().get("storyClassName");
+        return storyClassName == null || !storyClassName.isJsonPrimitive() ? null : storyClassName.getAsString();
+    }
+
+    private void put(JsonElement name, String testClass) {
+        if (name != null && name.isJsonPrimitive()) {
+            testClasses.put(name.getAsString(), testClass);
+        }
+    }
+}
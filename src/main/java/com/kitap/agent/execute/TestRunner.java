@@ -1,14 +1,17 @@
 package com.kitap.agent.execute;
 
+import com.kitap.agent.metrics.MethodTimers;
 import com.kitap.agent.util.PropertyReaderHelper;
 import com.kitap.testresult.dto.ExecutedTestCase;
 import com.kitap.testresult.dto.execute.ExecutionAutDetails;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.util.StopWatch;
 
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
 /**
  * This class identifies aut type and initiates the tests' execution accordingly by processing inputs
  * @author KT1450
@@ -17,13 +20,86 @@ import java.util.List;
 public class TestRunner {
     final String separator = File.separator;
     private final ExecutionAutDetails executionDetails;
+    private final String browser;
+    private final boolean isolatedWorkspace;
+    private final ExecutionHelper helper = new ExecutionHelper();
+    private int shardCount = 1;
+    private IShardPlanner shardPlanner = new CountShardPlanner();
 
     /**
      * Used class level variable to hold execution detail object
      * that was done by using constructor
      */
     public TestRunner(ExecutionAutDetails executionDetails){
+        this(executionDetails, null, false);
+    }
+
+    /**
+     * Creates the runner for a single browser
+     * @param executionDetails execution detail object
+     * @param browser browser to execute with, passed as -D override, null to use the one in serenity.properties
+     * @param isolatedWorkspace true to execute in a separate working copy of the version,
+     *                          required when the same version is executed in parallel
+     * @throws IllegalArgumentException when the browser is not one of the supported browsers
+     */
+    public TestRunner(ExecutionAutDetails executionDetails, String browser, boolean isolatedWorkspace){
+        if (browser != null && !browser.isBlank() && !ValidBrowsers.isSupported(browser)) {
+            log.error("invalid browser #" + browser);
+            throw new IllegalArgumentException("invalid browser " + browser);
+        }
         this.executionDetails = executionDetails;
+        this.browser = browser;
+        this.isolatedWorkspace = isolatedWorkspace;
+    }
+
+    /**
+     * Sets the number of parallel shards the test classes of Web and API executions are split into
+     * @param shardCount number of shards, 1 executes all the tests in a single maven process
+     */
+    public void setShardCount(int shardCount){
+        this.shardCount = Math.max(1, shardCount);
+    }
+
+    /**
+     * Adds a listener which receives the output lines of the build processes of the execution
+     * @param listener line consumer, called on the output reader threads
+     */
+    public void addOutputListener(Consumer<String> listener){
+        helper.addOutputListener(listener);
+    }
+
+    /**
+     * Sets the sink receiving the serenity results in micro batches while the tests are running,
+     * the results handed to the sink are not returned by executeTests
+     * @param resultSink consumer of the converted test cases, called on the ingestion threads
+     */
+    public void setResultSink(Consumer<List<ExecutedTestCase>> resultSink){
+        helper.setResultSink(resultSink);
+    }
+
+    /**
+     * Cancels the execution, the running maven processes are terminated with all the test JVMs,
+     * drivers and browsers they started
+     */
+    public void cancel(){
+        helper.cancel();
+    }
+
+    /**
+     * Returns the test class of an executed test case of this execution
+     * @param testCaseName name of the executed test case
+     * @return fully qualified name of the test class or null when it is not known
+     */
+    public String getTestClass(String testCaseName){
+        return helper.getTestClasses().get(testCaseName);
+    }
+
+    /**
+     * Sets the planner used for distributing the test classes into shards
+     * @param shardPlanner shard planner
+     */
+    public void setShardPlanner(IShardPlanner shardPlanner){
+        this.shardPlanner = shardPlanner;
     }
 
     /**
@@ -31,38 +107,67 @@ public class TestRunner {
      * @return a list of executed test cases results
      */
     public List<ExecutedTestCase> executeTests(){
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
-        //TestExecution execution = new TestExecution();
-        String testType = this.executionDetails.getTestType();
-        String executionPath = PropertyReaderHelper.getProperty("destinationpath")+
-                separator+testType+
-                separator+this.executionDetails.getAut()+
-                separator+this.executionDetails.getVersion();
-        log.info("execution started at "+ executionPath);
+        Timer.Sample sample = MethodTimers.start();
+        Lock workspaceLock = null;
+        try {
+            //TestExecution execution = new TestExecution();
+            String testType = this.executionDetails.getTestType();
+            String versionPath = PropertyReaderHelper.getProperty("destinationpath")+
+                    separator+testType+
+                    separator+this.executionDetails.getAut()+
+                    separator+this.executionDetails.getVersion();
+            String executionPath = versionPath;
+            String workspaceKey = browser == null || browser.isBlank() ? "default" : browser.toLowerCase();
+            if (browser != null && !browser.isBlank()) {
+                helper.addSystemProperty(PropertyReaderHelper.getProperty("browserPropertyKey"), browser);
+            }
+            boolean sharded = shardCount > 1 && (testType.equals("Web") || testType.equals("API"));
+            if (isolatedWorkspace) {
+                executionPath = ExecutionWorkspace.resolve(testType, this.executionDetails.getAut(),
+                        this.executionDetails.getVersion(), workspaceKey).toString();
+            }
+            //executions in the same folder share its target folder and merged reports, they run one after another
+            workspaceLock = ExecutionWorkspace.acquire(executionPath, helper::isCancelled);
+            if (isolatedWorkspace) {
+                new ExecutionWorkspace().prepare(versionPath, testType, this.executionDetails.getAut(),
+                        this.executionDetails.getVersion(), workspaceKey);
+            }
+            log.info("execution started at "+ executionPath);
 
-        List<ExecutedTestCase> result = new ArrayList<>();
+            List<ExecutedTestCase> result = new ArrayList<>();
 
-        switch (testType) {
-            case "Web":
-                result = new WebTypeExecution().execute(executionPath, this.executionDetails.getTestCases());
-                break;
-            case "Sales Force":
-                result = new SalesForceTypeExecution().sfExecution(executionPath, this.executionDetails.getTestCases());
-                break;
-            case "Mobile":
-                break;
-            case "API":
-                result = new APITypeExecution().apiExecution(executionPath, this.executionDetails.getTestCases());
-                break;
-        }
+            if (sharded) {
+                //serenity projects are split into parallel maven processes, the reports are merged into execution path,
+                //the shard working copies are named after the execution path so that they are covered by its lock
+                String shardKey = isolatedWorkspace ? workspaceKey : "version";
+                result = new ShardedExecution(helper, shardPlanner).execute(versionPath, executionPath, testType,
+                        this.executionDetails.getAut(), this.executionDetails.getVersion(), shardKey,
+                        this.executionDetails.getTestCases(), shardCount);
+            } else {
+                switch (testType) {
+                    case "Web":
+                        result = new WebTypeExecution(helper).execute(executionPath, this.executionDetails.getTestCases());
+                        break;
+                    case "Sales Force":
+                        result = new SalesForceTypeExecution(helper).sfExecution(executionPath, this.executionDetails.getTestCases());
+                        break;
+                    case "Mobile":
+                        break;
+                    case "API":
+                        result = new APITypeExecution(helper).apiExecution(executionPath, this.executionDetails.getTestCases());
+                        break;
+                }
+            }
 
-        Reports reports = new Reports();
-        reports.changeLogo(executionPath);
-        log.info("execution completed with returning list of executedtestcase objects");
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
-        return result;
+            Reports reports = new Reports();
+            reports.changeLogo(executionPath);
+            log.info("execution completed with returning list of executedtestcase objects");
+            return result;
+        } finally {
+            if (workspaceLock != null) {
+                workspaceLock.unlock();
+            }
+            sample.stop(MethodTimers.timer("kitap.execution.tests", "testType", this.executionDetails.getTestType()));
+        }
     }
 }
\ No newline at end of file
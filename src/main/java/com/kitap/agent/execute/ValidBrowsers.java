@@ -0,0 +1,28 @@
+package com.kitap.agent.execute;
+
+import com.kitap.agent.util.PropertyReaderHelper;
+
+import java.util.Arrays;
+
+/**
+ * Browsers the tests can be executed with
+ * @author KT1450
+ */
+public enum ValidBrowsers {
+    CHROME,
+    EDGE,
+    FIREFOX,
+    SAFARI;
+
+    /**
+     * Method checks the browser is a valid browser and one of the supportedBrowsers of the config file
+     * @param browser name of the browser
+     * @return true when the tests can be executed with the browser
+     */
+    public static boolean isSupported(String browser) {
+        if (browser == null || Arrays.stream(values()).noneMatch(b -> b.name().equalsIgnoreCase(browser))) {
+            return false;
+        }
+        return PropertyReaderHelper.config().getList("supportedBrowsers").stream().anyMatch(browser::equalsIgnoreCase);
+    }
+}
@@ -1,10 +1,8 @@
 package com.kitap.agent.execute;
 
 import com.kitap.agent.util.PropertyReaderHelper;
-import com.kitap.testresult.adapter.ConvertedResult;
 import com.kitap.testresult.dto.ExecutedTestCase;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.util.StopWatch;
 
 import java.io.File;
 import java.util.List;
@@ -14,10 +12,13 @@ import java.util.List;
  */
 @Slf4j
 public class WebTypeExecution {
-    final ExecutionHelper helper = new ExecutionHelper();
-    final boolean singleOrMultiCase = true;
+    private final ExecutionHelper helper;
     final String separator = File.separator;
 
+    public WebTypeExecution(ExecutionHelper helper) {
+        this.helper = helper;
+    }
+
     /**
      * Method executes web type projects
      * @param executionPath defines where test cases should execute
@@ -25,18 +26,17 @@ public class WebTypeExecution {
      * @return a list of processed test result
      */
     public List<ExecutedTestCase> execute(String executionPath, List<String> tests){
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
         log.info("executing by using executionpath and list of tests as input");
 
         //deleting previously existed serenity test result
         helper.deleteTestResults(new File(executionPath+separator+"target"+separator+"site"));
 
-        // need to implement single test case execution
-        //TODO need to implement single test case execution
-
-        if(singleOrMultiCase){
-            String command = PropertyReaderHelper.getProperty("mavenSerenityRunning");
+        //converting the serenity outcomes while the tests are running when a result sink is set
+        String reportDirectory = executionPath+separator+"target"+separator+"site"+separator+"serenity";
+        ResultIngestor ingestor = helper.startIngestion(reportDirectory);
+        try {
+            //running the whole suite or only the requested tests in a single maven invocation
+            String command = helper.withTestFilter(PropertyReaderHelper.getProperty("mavenSerenityRunning"), tests);
             Process process = helper.getProcessor(command, new File(executionPath));
 
             //getting output from processor
@@ -44,25 +44,14 @@ public class WebTypeExecution {
 
             //method for exiting processor
             helper.throwError(process);
-        }
-        else {
-            for (String testCaseName : tests) {
-                String command = PropertyReaderHelper.getProperty("mavenSerenityRunning");
-                Process process = helper.getProcessor(command, new File(executionPath));
-
-                //getting output from processor
-                String output = helper.processOutput(process);
-
-                // method for exiting processor
-                helper.throwError(process);
+        } catch (RuntimeException e) {
+            if (ingestor != null) {
+                ingestor.stop();
             }
+            throw e;
         }
-        //Converting result into base format
-        ConvertedResult adapter = new ConvertedResult();
+
         log.info("completed executing");
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
-        return adapter.obtainSerenityTestResult(executionPath+separator+"target"+separator+"site"+separator+"serenity");
+        return helper.serenityResults(ingestor, reportDirectory);
     }
 }
@@ -0,0 +1,151 @@
+package com.kitap.agent.execute.job;
+
+import com.kitap.agent.database.model.dto.TestResultTable;
+import com.kitap.agent.util.PropertyReaderHelper;
+import com.kitap.testresult.dto.execute.ExecutionAutDetails;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Future;
+
+/**
+ * Holds the state of a single submitted execution, it is updated by the job worker thread
+ * and read by the api threads, so all mutable fields are volatile
+ * @author KT1450
+ */
+@Getter
+public class ExecutionJob {
+    private final String id = UUID.randomUUID().toString();
+    private final ExecutionAutDetails details;
+    private final String browser;
+    private final boolean isolatedWorkspace;
+    private final long timeoutMinutes;
+    private final ZonedDateTime submittedAt = ZonedDateTime.now();
+    private volatile JobStatus status = JobStatus.QUEUED;
+    private volatile String progress = "waiting for a free execution slot";
+    private volatile ZonedDateTime startedAt;
+    private volatile ZonedDateTime finishedAt;
+    private volatile String error;
+    private volatile Map<String, Long> resultCounts = Map.of();
+    private volatile List<TestResultTable> results = List.of();
+    private volatile Future<?> future;
+    private volatile String cancelReason;
+    @Getter(AccessLevel.NONE)
+    private volatile Runnable canceller;
+    private final JobEventBuffer events = new JobEventBuffer(Integer.parseInt(PropertyReaderHelper.getProperty("jobeventbuffersize")));
+
+    public ExecutionJob(ExecutionAutDetails details, String browser, boolean isolatedWorkspace, long timeoutMinutes) {
+        this.details = details;
+        this.browser = browser;
+        this.isolatedWorkspace = isolatedWorkspace;
+        this.timeoutMinutes = timeoutMinutes;
+    }
+
+    /**
+     * Marks the job as picked up by a worker thread
+     */
+    void started() {
+        this.startedAt = ZonedDateTime.now();
+        this.status = JobStatus.RUNNING;
+        events.publish(JobEventType.STATUS, status.name(), null, null);
+    }
+
+    /**
+     * Updates the human readable progress of the job
+     * @param progress current step of the job
+     */
+    void progress(String progress) {
+        this.progress = progress;
+        events.publish(JobEventType.STATUS, progress, null, null);
+    }
+
+    /**
+     * Marks the job as successfully completed with its results
+     * @param results saved test results
+     * @param resultCounts number of test cases per result
+     */
+    void completed(List<TestResultTable> results, Map<String, Long> resultCounts) {
+        this.results = List.copyOf(results);
+        this.resultCounts = Map.copyOf(resultCounts);
+        this.progress = "saved to database";
+        this.finishedAt = ZonedDateTime.now();
+        this.status = JobStatus.COMPLETED;
+        events.publish(JobEventType.STATUS, status.name(), null, null);
+        events.close();
+    }
+
+    /**
+     * Marks the job as failed
+     * @param error reason of the failure
+     */
+    void failed(String error) {
+        this.error = error;
+        this.progress = "execution failed";
+        this.finishedAt = ZonedDateTime.now();
+        this.status = JobStatus.FAILED;
+        events.publish(JobEventType.STATUS, status.name(), null, error);
+        events.close();
+    }
+
+    /**
+     * Marks the job as aborted by a cancel request or a timeout
+     */
+    void aborted() {
+        this.error = cancelReason;
+        this.progress = "execution aborted";
+        this.finishedAt = ZonedDateTime.now();
+        this.status = JobStatus.ABORTED;
+        events.publish(JobEventType.STATUS, status.name(), null, cancelReason);
+        events.close();
+    }
+
+    /**
+     * Requests the cancellation of the job, the canceller of a running job is called
+     * @param reason reason of the cancellation
+     */
+    void requestCancel(String reason) {
+        Runnable running;
+        synchronized (this) {
+            if (cancelReason != null) {
+                return;
+            }
+            this.cancelReason = reason;
+            running = canceller;
+        }
+        this.progress = "cancelling execution";
+        events.publish(JobEventType.STATUS, progress, null, reason);
+        if (running != null) {
+            running.run();
+        }
+    }
+
+    /**
+     * Sets the action which stops the running execution, it is called immediately
+     * when the cancellation was requested before
+     * @param canceller action stopping the execution
+     */
+    void setCanceller(Runnable canceller) {
+        synchronized (this) {
+            this.canceller = canceller;
+            if (cancelReason == null) {
+                return;
+            }
+        }
+        canceller.run();
+    }
+
+    /**
+     * @return true when the cancellation of the job was requested
+     */
+    public boolean isCancelRequested() {
+        return cancelReason != null;
+    }
+
+    void setFuture(Future<?> future) {
+        this.future = future;
+    }
+}
@@ -0,0 +1,48 @@
+package com.kitap.agent.execute.job;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+import java.util.Map;
+
+/**
+ * ExecutionJobDto class include the status and progress of an execution job
+ *                  which is returned by the job apis
+ * @author KT1450
+ */
+@Data
+@NoArgsConstructor
+public class ExecutionJobDto {
+    private String id;
+    private String aut;
+    private String testType;
+    private String version;
+    private String browser;
+    private JobStatus status;
+    private String progress;
+    private ZonedDateTime submittedAt;
+    private ZonedDateTime startedAt;
+    private ZonedDateTime finishedAt;
+    private String error;
+    private Map<String, Long> resultCounts;
+
+    /**
+     * Creates the dto from the current state of the job
+     * @param job execution job
+     */
+    public ExecutionJobDto(ExecutionJob job) {
+        this.id = job.getId();
+        this.aut = job.getDetails().getAut();
+        this.testType = job.getDetails().getTestType();
+        this.version = job.getDetails().getVersion();
+        this.browser = job.getBrowser();
+        this.status = job.getStatus();
+        this.progress = job.getProgress();
+        this.submittedAt = job.getSubmittedAt();
+        this.startedAt = job.getStartedAt();
+        this.finishedAt = job.getFinishedAt();
+        this.error = job.getError();
+        this.resultCounts = job.getResultCounts();
+    }
+}
@@ -0,0 +1,314 @@
+package com.kitap.agent.execute.job;
+
+import com.kitap.agent.database.model.ApplicationUnderTest;
+import com.kitap.agent.database.model.dto.TestClassDurationResponse;
+import com.kitap.agent.database.model.dto.TestResultTable;
+import com.kitap.agent.database.repository.ApplicationUnderTestRepo;
+import com.kitap.agent.database.repository.ExecutedTestCaseRepository;
+import com.kitap.agent.database.service.ResultSaver;
+import com.kitap.agent.execute.DurationShardPlanner;
+import com.kitap.agent.execute.TestRunner;
+import com.kitap.agent.util.PropertyReaderHelper;
+import com.kitap.testresult.dto.execute.ExecutionAutDetails;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Accepts execution requests as jobs and runs them on a bounded pool of worker threads,
+ * so the api threads are released as soon as the job is queued
+ * @author KT1450
+ */
+@Slf4j
+@Service
+public class ExecutionJobService {
+    private final ResultSaver resultSaver;
+    private final ApplicationUnderTestRepo autRepo;
+    private final ExecutedTestCaseRepository executedTestCaseRepository;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, ExecutionJob> jobs = new ConcurrentHashMap<>();
+    private final Deque<String> finishedJobIds = new ConcurrentLinkedDeque<>();
+    private final int historySize;
+    private final ScheduledExecutorService timeouts;
+
+    public ExecutionJobService(ResultSaver resultSaver, ApplicationUnderTestRepo autRepo,
+                               ExecutedTestCaseRepository executedTestCaseRepository) {
+        this.resultSaver = resultSaver;
+        this.autRepo = autRepo;
+        this.executedTestCaseRepository = executedTestCaseRepository;
+        int threads = Integer.parseInt(PropertyReaderHelper.getProperty("executionjobthreads"));
+        int queueCapacity = Integer.parseInt(PropertyReaderHelper.getProperty("executionjobqueuecapacity"));
+        this.historySize = Integer.parseInt(PropertyReaderHelper.getProperty("executionjobhistorysize"));
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "execution-job-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.timeouts = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "execution-job-timeout");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("kitap.jobs.queued", this, ExecutionJobService::getQueueDepth)
+                .description("execution jobs waiting for a free worker thread")
+                .register(Metrics.globalRegistry);
+        Gauge.builder("kitap.jobs.active", this, ExecutionJobService::getActiveJobs)
+                .description("execution jobs currently executing")
+                .register(Metrics.globalRegistry);
+        log.info("execution job scheduler started with {} threads and queue capacity {}", threads, queueCapacity);
+    }
+
+    /**
+     * Queues the execution and returns immediately
+     * @param details execution details object
+     * @param browser browser to execute with, null to use the one configured in the test project
+     * @param isolatedWorkspace true to execute in a separate working copy of the version
+     * @param timeoutMinutes minutes after which the running job is aborted, null for the configured executionjobtimeout
+     * @return queued job
+     * @throws RejectedExecutionException when the queue is full
+     */
+    public ExecutionJob submit(ExecutionAutDetails details, String browser, boolean isolatedWorkspace, Long timeoutMinutes) {
+        long timeout = timeoutMinutes != null && timeoutMinutes > 0
+                ? timeoutMinutes : Long.parseLong(PropertyReaderHelper.getProperty("executionjobtimeout"));
+        ExecutionJob job = new ExecutionJob(details, browser, isolatedWorkspace, timeout);
+        jobs.put(job.getId(), job);
+        try {
+            job.setFuture(executor.submit(() -> run(job)));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            log.warn("execution queue is full, rejected execution of {}", details.getAut());
+            throw e;
+        }
+        log.info("execution job {} queued for aut {} version {}", job.getId(), details.getAut(), details.getVersion());
+        return job;
+    }
+
+    /**
+     * Cancels the job, a queued job is removed from the queue and the processes of a running job
+     * are terminated with all their descendants, the job is recorded as aborted
+     * @param jobId id of the job
+     * @param reason reason of the cancellation
+     * @return cancelled job or null if it is unknown
+     * @throws IllegalStateException when the job is already finished
+     */
+    public ExecutionJob cancel(String jobId, String reason) {
+        ExecutionJob job = jobs.get(jobId);
+        if (job == null) {
+            return null;
+        }
+        if (job.getStatus().isFinished()) {
+            throw new IllegalStateException("execution job " + jobId + " is already " + job.getStatus());
+        }
+        log.info("cancelling execution job {}: {}", jobId, reason);
+        job.requestCancel(reason);
+        Future<?> future = job.getFuture();
+        if (job.getStatus() == JobStatus.QUEUED && future != null && future.cancel(false)) {
+            executor.purge();
+            job.aborted();
+            evictFinishedJobs(job);
+        }
+        return job;
+    }
+
+    /**
+     * Returns the job with given id
+     * @param jobId id of the job
+     * @return job or null if it is unknown or already evicted from history
+     */
+    public ExecutionJob getJob(String jobId) {
+        return jobs.get(jobId);
+    }
+
+    /**
+     * Returns all the jobs known by the scheduler
+     * @return running, queued and recently finished jobs
+     */
+    public Collection<ExecutionJob> getJobs() {
+        return jobs.values();
+    }
+
+    /**
+     * Number of jobs waiting for a free worker thread
+     * @return queue depth
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Number of jobs which are currently executing
+     * @return active jobs count
+     */
+    public int getActiveJobs() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * Runs the tests of the job and saves the result into database, the job always ends in a final status,
+     * errors are rethrown after the job is marked failed
+     * @param job job to be executed
+     */
+    private void run(ExecutionJob job) {
+        job.started();
+        log.info("execution job {} started", job.getId());
+        ScheduledFuture<?> timer = timeouts.schedule(
+                () -> job.requestCancel("execution timed out after " + job.getTimeoutMinutes() + " minutes"),
+                job.getTimeoutMinutes(), TimeUnit.MINUTES);
+        try {
+            job.progress("executing tests");
+            TestRunner runner = new TestRunner(job.getDetails(), job.getBrowser(), job.isIsolatedWorkspace());
+            job.setCanceller(runner::cancel);
+            runner.addOutputListener(new TestEventParser(job.getEvents())::accept);
+            int shardCount = getShardCount(job.getDetails());
+            runner.setShardCount(shardCount);
+            if (shardCount > 1 && "duration".equals(PropertyReaderHelper.getProperty("shardplanner"))) {
+                runner.setShardPlanner(getDurationShardPlanner(job.getDetails()));
+            }
+            List<TestResultTable> results = Collections.synchronizedList(new ArrayList<>());
+            if (Boolean.parseBoolean(PropertyReaderHelper.getProperty("resultstreaming"))) {
+                runner.setResultSink(batch -> {
+                    saveResults(batch, job, runner, results);
+                    job.progress("executing tests, " + results.size() + " results saved");
+                });
+            }
+            List<com.kitap.testresult.dto.ExecutedTestCase> executed = runner.executeTests();
+
+            job.progress("saving results");
+            saveResults(executed, job, runner, results);
+
+            Map<String, Long> counts = results.stream()
+                    .collect(Collectors.groupingBy(TestResultTable::getResult, Collectors.counting()));
+            job.completed(results, counts);
+            log.info("execution job {} completed with {} test cases", job.getId(), results.size());
+        } catch (Throwable e) {
+            if (job.isCancelRequested()) {
+                log.warn("execution job {} aborted: {}", job.getId(), job.getCancelReason());
+                job.aborted();
+            } else {
+                log.error("execution job {} failed", job.getId(), e);
+                job.failed(e.toString());
+            }
+            if (e instanceof Error error) {
+                throw error;
+            }
+        } finally {
+            timer.cancel(false);
+            recordDuration(job);
+            evictFinishedJobs(job);
+        }
+    }
+
+    /**
+     * Records the running time of the job in the duration histogram of its AUT
+     * @param job finished job
+     */
+    private void recordDuration(ExecutionJob job) {
+        Timer.builder("kitap.job.duration")
+                .description("running time of the execution jobs")
+                .tag("aut", String.valueOf(job.getDetails().getAut()))
+                .tag("testType", String.valueOf(job.getDetails().getTestType()))
+                .tag("status", job.getStatus().name())
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofSeconds(1))
+                .maximumExpectedValue(Duration.ofHours(6))
+                .register(Metrics.globalRegistry)
+                .record(Duration.between(job.getStartedAt(), ZonedDateTime.now()));
+    }
+
+    /**
+     * Saves the executed test cases into database and adds them to the results of the job
+     * @param executed executed test cases
+     * @param job execution job
+     * @param runner runner of the job, knows the test classes of the executed test cases
+     * @param results results of the job saved so far
+     */
+    private void saveResults(List<com.kitap.testresult.dto.ExecutedTestCase> executed, ExecutionJob job, TestRunner runner,
+                             List<TestResultTable> results) {
+        if (executed.isEmpty()) {
+            return;
+        }
+        results.addAll(resultSaver.save(executed, job.getDetails(), job.getId(), runner::getTestClass));
+    }
+
+    /**
+     * Returns the shard count configured for the AUT or the default shard count
+     * @param details execution details object
+     * @return number of shards
+     */
+    private int getShardCount(ExecutionAutDetails details) {
+        ApplicationUnderTest aut = autRepo.isExists(details.getAut(), details.getTestType());
+        if (aut != null && aut.getShardCount() != null) {
+            return aut.getShardCount();
+        }
+        return Integer.parseInt(PropertyReaderHelper.getProperty("executionshardcount"));
+    }
+
+    /**
+     * Creates the shard planner from the recorded test case durations of the AUT
+     * @param details execution details object
+     * @return duration based shard planner
+     */
+    private DurationShardPlanner getDurationShardPlanner(ExecutionAutDetails details) {
+        ZonedDateTime from = ZonedDateTime.now().minusDays(Long.parseLong(PropertyReaderHelper.getProperty("shardhistorydays")));
+        Map<String, Long> durations = new HashMap<>();
+        for (TestClassDurationResponse response : executedTestCaseRepository.averageDurationByClass(details.getAut(), from)) {
+            if (response.getTestClassName() != null && response.getAverageDuration() != null) {
+                durations.merge(DurationShardPlanner.normalize(response.getTestClassName()), response.getAverageDuration(), Math::max);
+            }
+        }
+        log.info("found recorded durations of {} test classes of {}", durations.size(), details.getAut());
+        return new DurationShardPlanner(durations, Long.parseLong(PropertyReaderHelper.getProperty("sharddefaultduration")));
+    }
+
+    /**
+     * Keeps only the configured number of finished jobs in memory
+     * @param job job which just finished
+     */
+    private void evictFinishedJobs(ExecutionJob job) {
+        finishedJobIds.addLast(job.getId());
+        while (finishedJobIds.size() > historySize) {
+            String evicted = finishedJobIds.pollFirst();
+            if (evicted != null) {
+                jobs.remove(evicted);
+            }
+        }
+    }
+
+    /**
+     * Stops the worker threads when the application context is closed
+     */
+    @PreDestroy
+    public void shutdown() {
+        log.info("stopping execution job scheduler");
+        timeouts.shutdownNow();
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,24 @@
+package com.kitap.agent.execute.job;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+
+/**
+ * JobEvent class include a single event of an execution job like an output line of maven,
+ *                  a started or finished test or a status change
+ * @author KT1450
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobEvent {
+    private long sequence;
+    private JobEventType type;
+    private ZonedDateTime timestamp;
+    private String message;
+    private String testName;
+    private String result;
+}
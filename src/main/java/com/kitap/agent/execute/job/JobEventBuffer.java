@@ -0,0 +1,133 @@
+package com.kitap.agent.execute.job;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Bounded buffer of the events of a job, the oldest events are dropped when it is full
+ * so a slow or absent reader never holds memory of a long running execution.
+ * The output lines are kept apart from the test and status events, so a noisy build
+ * never pushes the test events out of the buffer.
+ * Readers keep their own position by the sequence number of the last event they have read
+ * @author KT1450
+ */
+public class JobEventBuffer {
+    private final int capacity;
+    private final Deque<JobEvent> output;
+    private final Deque<JobEvent> events;
+    private long lastSequence;
+    private boolean closed;
+
+    /**
+     * @param capacity number of output lines and number of the other events kept, each
+     */
+    public JobEventBuffer(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.output = new ArrayDeque<>(this.capacity);
+        this.events = new ArrayDeque<>(this.capacity);
+    }
+
+    /**
+     * Adds an event to the buffer and wakes up the waiting readers
+     * @param type type of the event
+     * @param message message of the event
+     * @param testName name of the test the event belongs to, may be null
+     * @param result result of the test, may be null
+     */
+    public synchronized void publish(JobEventType type, String message, String testName, String result) {
+        if (closed) {
+            return;
+        }
+        Deque<JobEvent> target = type == JobEventType.OUTPUT ? output : events;
+        if (target.size() == capacity) {
+            target.removeFirst();
+        }
+        target.addLast(new JobEvent(++lastSequence, type, ZonedDateTime.now(), message, testName, result));
+        notifyAll();
+    }
+
+    /**
+     * Marks the end of the events, readers stop after reading the remaining events
+     */
+    public synchronized void close() {
+        closed = true;
+        notifyAll();
+    }
+
+    /**
+     * Returns the events published after the given sequence in order, waits for the next event when there is none.
+     * Where events were dropped a GAP event carrying the number of the dropped events is returned in their place
+     * @param afterSequence sequence of the last event read, 0 to read from the oldest event
+     * @param timeoutMillis maximum time to wait for an event
+     * @return events after the sequence, empty when the wait timed out or the buffer is closed
+     * @throws InterruptedException when the reader is interrupted while waiting
+     */
+    public synchronized List<JobEvent> after(long afterSequence, long timeoutMillis) throws InterruptedException {
+        if (lastSequence <= afterSequence && !closed) {
+            wait(timeoutMillis);
+        }
+        List<JobEvent> result = new ArrayList<>();
+        if (lastSequence <= afterSequence) {
+            return result;
+        }
+        Iterator<JobEvent> outputs = output.iterator();
+        Iterator<JobEvent> others = events.iterator();
+        JobEvent nextOutput = next(outputs, afterSequence);
+        JobEvent nextOther = next(others, afterSequence);
+        long previous = afterSequence;
+        while (nextOutput != null || nextOther != null) {
+            JobEvent event;
+            if (nextOther == null || (nextOutput != null && nextOutput.getSequence() < nextOther.getSequence())) {
+                event = nextOutput;
+                nextOutput = next(outputs, afterSequence);
+            } else {
+                event = nextOther;
+                nextOther = next(others, afterSequence);
+            }
+            addGap(result, previous, event.getSequence());
+            result.add(event);
+            previous = event.getSequence();
+        }
+        return result;
+    }
+
+    /**
+     * Returns the next event of the iterator published after the given sequence
+     * @param iterator iterator over the events in sequence order
+     * @param afterSequence sequence of the last event read
+     * @return next event or null when there is none
+     */
+    private static JobEvent next(Iterator<JobEvent> iterator, long afterSequence) {
+        while (iterator.hasNext()) {
+            JobEvent event = iterator.next();
+            if (event.getSequence() > afterSequence) {
+                return event;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds a GAP event for the events dropped between two sequences
+     * @param result events returned to the reader
+     * @param previous sequence of the last event before the gap
+     * @param next sequence of the first event after the gap
+     */
+    private static void addGap(List<JobEvent> result, long previous, long next) {
+        if (next > previous + 1) {
+            result.add(new JobEvent(next - 1, JobEventType.GAP, ZonedDateTime.now(),
+                    (next - previous - 1) + " events dropped", null, null));
+        }
+    }
+
+    /**
+     * @return true when no more events will be published
+     */
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+}
@@ -0,0 +1,97 @@
+package com.kitap.agent.execute.job;
+
+import com.kitap.agent.util.PropertyReaderHelper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streams the events of execution jobs to the clients as server sent events. Every client is served by its
+ * own sender which reads the job's event buffer at the pace the client accepts the events, so a slow client
+ * only falls behind, and is told how many events it missed, without slowing down the execution or other clients
+ * @author KT1450
+ */
+@Slf4j
+@Service
+public class JobEventStreamer {
+    private static final long WAIT_MILLIS = 15000;
+    private final ThreadPoolExecutor senders;
+
+    public JobEventStreamer() {
+        int maxClients = Integer.parseInt(PropertyReaderHelper.getProperty("jobstreammaxclients"));
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.senders = new ThreadPoolExecutor(0, maxClients, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "job-stream-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Starts streaming the events of the job
+     * @param job execution job
+     * @param lastEventId sequence of the last event received by the client, 0 to stream all the buffered events
+     * @return emitter completed after the last event of the job
+     * @throws RejectedExecutionException when the maximum number of clients are streaming
+     */
+    public SseEmitter stream(ExecutionJob job, long lastEventId) {
+        SseEmitter emitter = new SseEmitter(0L);
+        senders.execute(() -> send(job, lastEventId, emitter));
+        log.info("streaming events of execution job {}", job.getId());
+        return emitter;
+    }
+
+    /**
+     * Sends the events to the client until the job is finished, the client disconnects or the streamer is stopped
+     * @param job execution job
+     * @param lastEventId sequence of the last event received by the client
+     * @param emitter emitter of the client
+     */
+    private void send(ExecutionJob job, long lastEventId, SseEmitter emitter) {
+        long position = lastEventId;
+        try {
+            while (true) {
+                List<JobEvent> events = job.getEvents().after(position, WAIT_MILLIS);
+                if (events.isEmpty()) {
+                    if (job.getEvents().isClosed()) {
+                        break;
+                    }
+                    emitter.send(SseEmitter.event().comment("keep-alive"));
+                    continue;
+                }
+                for (JobEvent event : events) {
+                    emitter.send(SseEmitter.event()
+                            .id(String.valueOf(event.getSequence()))
+                            .name(event.getType().name().toLowerCase())
+                            .data(event, MediaType.APPLICATION_JSON));
+                    position = event.getSequence();
+                }
+            }
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            log.info("client stopped streaming execution job {}: {}", job.getId(), e.toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            emitter.complete();
+        }
+    }
+
+    /**
+     * Stops the senders when the application context is closed
+     */
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+    }
+}
@@ -0,0 +1,14 @@
+package com.kitap.agent.execute.job;
+
+/**
+ * Types of the events published while an execution job is running
+ * @author KT1450
+ */
+public enum JobEventType {
+    STATUS,
+    OUTPUT,
+    TEST_STARTED,
+    TEST_FINISHED,
+    CLASS_FINISHED,
+    GAP
+}
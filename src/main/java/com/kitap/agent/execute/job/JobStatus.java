@@ -0,0 +1,21 @@
+package com.kitap.agent.execute.job;
+
+/**
+ * Lifecycle states of an execution job
+ * @author KT1450
+ */
+public enum JobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    ABORTED;
+
+    /**
+     * Checks whether the job reached a final state
+     * @return true if the job will not change its state anymore
+     */
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED || this == ABORTED;
+    }
+}
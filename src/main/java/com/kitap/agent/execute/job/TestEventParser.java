@@ -0,0 +1,45 @@
+package com.kitap.agent.execute.job;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Class used for publishing the maven output lines of a job together with the test events
+ * parsed from the serenity console reporter and the surefire/failsafe summary lines
+ * @author KT1450
+ */
+public class TestEventParser {
+    private static final Pattern SERENITY_TEST = Pattern.compile("TEST (STARTED|PASSED|FAILED|ERROR|PENDING|SKIPPED|IGNORED|COMPROMISED): (.+)");
+    private static final Pattern SUREFIRE_CLASS = Pattern.compile(
+            "Tests run: (\\d+), Failures: (\\d+), Errors: (\\d+), Skipped: (\\d+).*? in (\\S+)");
+
+    private final JobEventBuffer events;
+
+    public TestEventParser(JobEventBuffer events) {
+        this.events = events;
+    }
+
+    /**
+     * Publishes the output line and the test event it contains
+     * @param line output line of maven
+     */
+    public void accept(String line) {
+        events.publish(JobEventType.OUTPUT, line, null, null);
+        Matcher test = SERENITY_TEST.matcher(line);
+        if (test.find()) {
+            String status = test.group(1);
+            String testName = test.group(2).trim();
+            if (status.equals("STARTED")) {
+                events.publish(JobEventType.TEST_STARTED, line, testName, null);
+            } else {
+                events.publish(JobEventType.TEST_FINISHED, line, testName, status);
+            }
+            return;
+        }
+        Matcher testClass = SUREFIRE_CLASS.matcher(line);
+        if (testClass.find()) {
+            boolean failed = Integer.parseInt(testClass.group(2)) > 0 || Integer.parseInt(testClass.group(3)) > 0;
+            events.publish(JobEventType.CLASS_FINISHED, line, testClass.group(5), failed ? "FAILED" : "PASSED");
+        }
+    }
+}
@@ -1,13 +1,15 @@
 package com.kitap.agent.generate.flow;
 
+import com.kitap.agent.generate.util.BuildFingerprint;
+import com.kitap.agent.metrics.MethodTimers;
+import com.kitap.agent.process.BuildRunnerFactory;
+import com.kitap.agent.process.ProcessOutputPipeline;
 import com.kitap.agent.util.PropertyReaderHelper;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.util.StopWatch;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.IOException;
-import java.io.InputStreamReader;
+import java.nio.file.Path;
 import java.util.List;
 
 /**
@@ -16,18 +18,62 @@ import java.util.List;
  */
 @Slf4j
 public class CompileAndGenerateJarFile {
+    private static final Timer BUILD_TIMER = MethodTimers.timer("kitap.generate.build");
 
     /**
-     * method for compile project and package
+     * method for compile project and package, in incremental mode the project is built with a single maven
+     * invocation without clean, and the build is skipped when the sources are unchanged since the last build
      * @param projectDirectory project folder which has to be compiled and packaged
      */
     public void compileAndPackage(File projectDirectory){
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
-        getProcessor(PropertyReaderHelper.getProperties(new String[] {"mavenvalidation","mavencompilation","mavenpackaging"}), projectDirectory);
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
+        Timer.Sample sample = MethodTimers.start();
+        try {
+            if (Boolean.parseBoolean(PropertyReaderHelper.getProperty("incrementalbuild"))) {
+                incrementalBuild(projectDirectory);
+            } else {
+                getProcessor(PropertyReaderHelper.getProperties(new String[] {"mavenvalidation","mavencompilation","mavenpackaging"}), projectDirectory);
+            }
+        } finally {
+            sample.stop(BUILD_TIMER);
+        }
+    }
+
+    /**
+     * Builds the project only when its sources have changed, clean is done only when a file
+     * was deleted or a build file was changed
+     * @param projectDirectory project folder which has to be compiled and packaged
+     * @throws RuntimeException when the build fails, the stored fingerprint is deleted so the next build starts clean
+     */
+    private void incrementalBuild(File projectDirectory){
+        Path project = projectDirectory.toPath();
+        BuildFingerprint previous = BuildFingerprint.load(project);
+        BuildFingerprint current = BuildFingerprint.of(project, previous);
+        if (!previous.isEmpty() && current.sameAs(previous) && hasJar(project)) {
+            log.info("sources of {} are unchanged since the last build, skipping the build", projectDirectory);
+            return;
+        }
+        String command = previous.isEmpty() || current.requiresClean(previous)
+                ? PropertyReaderHelper.getProperty("mavencleanbuild")
+                : PropertyReaderHelper.getProperty("mavenincrementalbuild");
+        Process process = BuildRunnerFactory.getBuildRunner().start(command, projectDirectory);
+        String output = processOutput(process);
+        int exitValue = throwError(process);
+        if (exitValue != 0) {
+            BuildFingerprint.delete(project);
+            log.error("build of {} failed, last output lines:\n{}", projectDirectory, output);
+            throw new RuntimeException("build of " + projectDirectory + " failed with exit code " + exitValue);
+        }
+        current.store(project);
+    }
+
+    /**
+     * Checks whether the target folder contains the packaged jar
+     * @param project project folder
+     * @return true if a jar exists
+     */
+    private boolean hasJar(Path project){
+        File[] jars = project.resolve("target").toFile().listFiles((dir, name) -> name.endsWith(".jar"));
+        return jars != null && jars.length > 0;
     }
 
     /**
@@ -36,61 +82,32 @@ public class CompileAndGenerateJarFile {
      * @param directory project folder
      */
     private void getProcessor(List<String> properties, File directory){
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
         log.info("getting processor by using properties and directory as inputs");
         Process process;
         for (String command: properties){
-            try {
-                process = Runtime.getRuntime().exec(command,null, directory);
-                processOutput(process);
-                throwError(process);
-            } catch (IOException e) {
-                log.error(e.toString());
-                throw new RuntimeException(e);
-            }
+            process = BuildRunnerFactory.getBuildRunner().start(command, directory);
+            processOutput(process);
+            throwError(process);
         }
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
     }
 
     /**
-     * Giving the reader process output with Process object as input
+     * Streaming the stdout and stderr of the process to the log until the process closes them
      * @param process Process object
+     * @return last lines of the output
      */
-    private void processOutput(Process process){
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
+    private String processOutput(Process process){
         log.info("output processing by using process object as input");
-        StringBuilder output = new StringBuilder();
-        InputStreamReader inputStreamReader = new InputStreamReader(process.getInputStream());
-        BufferedReader reader = new BufferedReader(inputStreamReader);
-
-        String line;
-        try {
-            while ((line = reader.readLine()) != null) {
-                output.append(line).append("\n");
-            }
-            reader.close();
-        }
-        catch(IOException e){
-            log.error(e.toString());
-            throw new RuntimeException(e);
-        }
-        log.info(String.valueOf(output));
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
+        String tail = new ProcessOutputPipeline(process, "maven-" + process.pid()).start().await();
+        return tail;
     }
 
     /**
      * Throwing an error if process is not getting exit properly
      * @param process input Process object
+     * @return exit value of the process
      */
-    private void throwError(Process process){
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
+    private int throwError(Process process){
         int exitValue;
         try {
             exitValue = process.waitFor();
@@ -100,9 +117,7 @@ public class CompileAndGenerateJarFile {
                 log.info("Some thing abnormal has happened :(");
                 log.info("processor exited code is "+ exitValue);
             }
-            stopWatch.stop();
-            log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                    " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
+            return exitValue;
         } catch (InterruptedException e) {
             log.error(e.toString());
             throw new RuntimeException(e);
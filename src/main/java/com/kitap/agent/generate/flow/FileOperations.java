@@ -1,15 +1,14 @@
 package com.kitap.agent.generate.flow;
 
+import com.kitap.agent.generate.util.ParallelFileCopier;
+import com.kitap.agent.metrics.MethodTimers;
 import com.kitap.agent.util.PropertyReaderHelper;
 import com.kitap.testresult.dto.agent.GenerationDetails;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.util.StopWatch;
 
 import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
 import java.util.Arrays;
 import java.util.Objects;
 
@@ -20,6 +19,7 @@ import java.util.Objects;
  */
 @Slf4j
 public class FileOperations {
+    private static final Timer COPY_TIMER = MethodTimers.timer("kitap.generate.copy");
 
     final String separator = File.separator;
     final String destinationPath = PropertyReaderHelper.getProperty("destinationpath");
@@ -30,28 +30,27 @@ public class FileOperations {
      * @return After copying returning the version
      */
     public String copyFiles(GenerationDetails details){
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
-
-        //checking and adding kitap destination if not exists
-        createFolder(destinationPath);
+        Timer.Sample sample = MethodTimers.start();
+        try {
+            //checking and adding kitap destination if not exists
+            createFolder(destinationPath);
 
-        //checking aut exists or not if not creating one
-        if (!checkAutExistence(details.getAutType(), details.getAutName()))
-            checkAutExistence(details.getAutType(), details.getAutName());
+            //checking aut exists or not if not creating one
+            if (!checkAutExistence(details.getAutType(), details.getAutName()))
+                checkAutExistence(details.getAutType(), details.getAutName());
 
-        String qualifiedAutName = destinationPath+separator+details.getAutType()+separator+details.getAutName();
+            String qualifiedAutName = destinationPath+separator+details.getAutType()+separator+details.getAutName();
 
-        // getting last required version
-        String version = getLastVersionNumber(qualifiedAutName, details.getCreateNewVersion());
-        String destination = qualifiedAutName+separator+version;
+            // getting last required version
+            String version = getLastVersionNumber(qualifiedAutName, details.getCreateNewVersion());
+            String destination = qualifiedAutName+separator+version;
 
-        // copying files to destination path
-        copy(details.getProjectPath().getAbsolutePath(), destination);
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
-        return version;
+            // copying files to destination path, unchanged files are shared with the previous version
+            copy(details.getProjectPath().getAbsolutePath(), destination, getPreviousVersion(qualifiedAutName, version));
+            return version;
+        } finally {
+            sample.stop(COPY_TIMER);
+        }
     }
 
     /**
@@ -61,8 +60,6 @@ public class FileOperations {
      * @return true if already exists else creates new one
      */
     private boolean checkAutExistence(String autType, String autName){
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
         autType = Objects.requireNonNullElse(autType, "");
         autType = autType.equals("") ? "Web": autType;
 
@@ -70,16 +67,10 @@ public class FileOperations {
         File autFolder = new File(autQualifiedType);
         if (autFolder.exists()){
             log.info("aut folder path exists "+ autQualifiedType);
-            stopWatch.stop();
-            log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                    " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
             return true;
         }
         else {
             log.info("aut folder created at "+ autQualifiedType);
-            stopWatch.stop();
-            log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                    " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
             return autFolder.mkdir();
         }
     }
@@ -91,29 +82,18 @@ public class FileOperations {
      * @return version name
      */
     private String getLastVersionNumber(String autPath, Boolean createNewVersion){
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
         log.info("getting last version number created by using autPath and createNewVersion as boolean");
         File autFolder = new File(autPath);
 
         File [] versions = autFolder.listFiles();
         assert versions != null;
         if (versions.length > 0){
-            stopWatch.stop();
-            log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                    " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
             return getLastVersionNumber(versions, createNewVersion, autPath);
         }else {
             if(createFolder(autPath+separator+"1")) {
-                stopWatch.stop();
-                log.info("Execution time for " + new Object(){}.getClass().getEnclosingMethod().getName() +
-                        " method is " + String.format("%.2f", stopWatch.getTotalTimeSeconds()) + " seconds");
                 return "1";
             }
         }
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
         return "";
     }
 
@@ -125,8 +105,6 @@ public class FileOperations {
      * @return version name
      */
     private String getLastVersionNumber(File [] versions, Boolean createNewVersion, String autPath){
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
         Arrays.sort(versions);
         if (createNewVersion){
             Long version = Long.parseLong(versions[versions.length-1].getName());
@@ -134,9 +112,6 @@ public class FileOperations {
             createFolder(autPath+separator+ version);
             log.info("created new version folder with version number "+ version + " at path "+ autPath+separator+version);
 
-            stopWatch.stop();
-            log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                    " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
             return String.valueOf(version);
         }
         String versionName = versions[versions.length-1].getName();
@@ -144,60 +119,45 @@ public class FileOperations {
         deleteFolder(delFile);
         log.info("deleting files in existed version " + delFile);
 
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
         return versionName;
     }
 
     /**
-     * copying files from source path to target path
+     * copying files from source path to target path, build output and version control folders are excluded
      * @param source path of the source folder
      * @param target path of the target folder
+     * @param previousVersion path of the previous version whose unchanged files are hard linked, null to copy all
      */
-    private void copy(String source, String target) {
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
+    private void copy(String source, String target, Path previousVersion) {
         log.info("copying files by taking source and target paths as inputs");
-        File directory = new File(source);
-        File[] fList = directory.listFiles();
-        if (fList != null) {
-            for (File file : fList) {
-                if (file.isFile()) {
-                    Path destinationFilePath = new File(target+separator+file.getName()).toPath();
-                    copy(file.toPath(), destinationFilePath);
-                }
-                else if (file.isDirectory()) {
-                    Path destinationFilePath = new File(target+separator+file.getName()).toPath();
-                    copy(file.toPath(), destinationFilePath);
-
-                    String destinationFolderAbsolutePath = target+separator+file.getName();
-                    copy(file.getAbsolutePath(), destinationFolderAbsolutePath);
-                }
-            }
-        }
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
+        boolean hardLinks = Boolean.parseBoolean(PropertyReaderHelper.getProperty("versionhardlinks"));
+        new ParallelFileCopier().copy(Path.of(source), Path.of(target), hardLinks ? previousVersion : null);
     }
 
     /**
-     * copying files from source path to target path
-     * @param source path of the source folder
-     * @param target path of the target folder
+     * Getting the highest version lower than the given version
+     * @param autPath path of the AUT folder
+     * @param version current version
+     * @return path of the previous version, null if there is none
      */
-    private void copy(Path source, Path target){
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
-        try {
-            Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
-        } catch (IOException e) {
-            log.error(e.toString());
-            throw new RuntimeException(e);
+    private Path getPreviousVersion(String autPath, String version){
+        if (!version.matches("\\d+")) {
+            return null;
+        }
+        long current = Long.parseLong(version);
+        File[] versions = new File(autPath).listFiles(file -> file.isDirectory() && file.getName().matches("\\d+"));
+        Path previous = null;
+        long previousNumber = 0;
+        if (versions != null) {
+            for (File file : versions) {
+                long number = Long.parseLong(file.getName());
+                if (number < current && number > previousNumber) {
+                    previousNumber = number;
+                    previous = file.toPath();
+                }
+            }
         }
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
+        return previous;
     }
 
     /**
@@ -206,21 +166,11 @@ public class FileOperations {
      * @return true if created new one else false
      */
     private boolean createFolder(String path) {
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
         File version = new File(path);
         if (!version.exists()) {
             log.info("folder created at path " + path);
-            stopWatch.stop();
-            log.info("Execution time for " + new Object() {
-            }.getClass().getEnclosingMethod().getName() +
-                    " method is " + String.format("%.2f", stopWatch.getTotalTimeSeconds()) + " seconds");
             return version.mkdir();
         } else {
-            stopWatch.stop();
-            log.info("Execution time for " + new Object() {
-            }.getClass().getEnclosingMethod().getName() +
-                    " method is " + String.format("%.2f", stopWatch.getTotalTimeSeconds()) + " seconds");
             return false;
         }
     }
@@ -230,8 +180,6 @@ public class FileOperations {
      * @param file File object
      */
     private void deleteFolder(File file) {
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
         for (File subfile : Objects.requireNonNull(file.listFiles())) {
             if (subfile.isDirectory()) {
                 deleteFolder(subfile);
@@ -239,8 +187,5 @@ public class FileOperations {
             subfile.delete();
         }
         log.info("deleting folder by using file as input");
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
     }
 }
\ No newline at end of file
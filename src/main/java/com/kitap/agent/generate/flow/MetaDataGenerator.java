@@ -1,10 +1,11 @@
 package com.kitap.agent.generate.flow;
 
+import com.kitap.agent.metrics.MethodTimers;
 import com.kitap.agent.util.PropertyReaderHelper;
 import com.kitap.agent.generate.service.FindClassesFromJarService;
 import com.kitap.testresult.dto.agent.GenerationDetails;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.util.StopWatch;
 
 import java.io.File;
 import java.io.IOException;
@@ -16,6 +17,7 @@ import java.nio.file.Files;
  */
 @Slf4j
 public class MetaDataGenerator {
+    private static final Timer METADATA_TIMER = MethodTimers.timer("kitap.generate.metadata");
 
     final String separator = File.separator;
 
@@ -24,39 +26,39 @@ public class MetaDataGenerator {
      * @param details GenerationDetails object
      */
     public void generateMetaData(GenerationDetails details){
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
-        log.info("generating metadata by using generation details as input");
-        String qualifiedPath = details.getProjectPath()+separator+"target";
-        File [] jarFiles = new File(qualifiedPath).listFiles();
-        File jarFile = null;
-        if (jarFiles != null){
-            for (File file:jarFiles) {
-                if (file.getName().endsWith("-tests.jar")) {
-                    jarFile = file;
+        Timer.Sample sample = MethodTimers.start();
+        try {
+            log.info("generating metadata by using generation details as input");
+            String qualifiedPath = details.getProjectPath()+separator+"target";
+            File [] jarFiles = new File(qualifiedPath).listFiles();
+            File jarFile = null;
+            if (jarFiles != null){
+                for (File file:jarFiles) {
+                    if (file.getName().endsWith("-tests.jar")) {
+                        jarFile = file;
+                    }
                 }
             }
-        }
 
-        String result = new FindClassesFromJarService().parseJar(jarFile, details);
-        log.info(result);
+            String result = new FindClassesFromJarService().parseJar(jarFile, details);
+            log.info(result);
 
-        File jsonFile = new File(generateJsonFileName(details));
-        if (jsonFile.exists()){
-            jsonFile.delete();
-            log.info("json file already exists, deleted file");
-        }
-        try {
-            jsonFile.createNewFile();
-            Files.writeString(jsonFile.toPath(), result);
-            log.info("metadata generation completed");
-        } catch (IOException e) {
-            log.error(e.toString());
-            throw new RuntimeException(e);
+            File jsonFile = new File(generateJsonFileName(details));
+            if (jsonFile.exists()){
+                jsonFile.delete();
+                log.info("json file already exists, deleted file");
+            }
+            try {
+                jsonFile.createNewFile();
+                Files.writeString(jsonFile.toPath(), result);
+                log.info("metadata generation completed");
+            } catch (IOException e) {
+                log.error(e.toString());
+                throw new RuntimeException(e);
+            }
+        } finally {
+            sample.stop(METADATA_TIMER);
         }
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
     }
 
     /**
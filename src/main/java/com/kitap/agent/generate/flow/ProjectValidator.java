@@ -2,7 +2,6 @@ package com.kitap.agent.generate.flow;
 
 import com.kitap.agent.util.PropertyReaderHelper;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.util.StopWatch;
 
 import java.io.BufferedReader;
 import java.io.File;
@@ -24,8 +23,6 @@ public class ProjectValidator {
      * @return array with valid/invalid in zeroth index and aut type status value in first index
      */
     public String[] check(File projectPath){
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
         log.info("checking project by using projectPath as input");
         String value = isValidProject(projectPath);
         log.info("value at"+value);
@@ -46,9 +43,6 @@ public class ProjectValidator {
                 arr[1] = value;
                 break;
         }
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
         return arr;
     }
 
@@ -58,8 +52,6 @@ public class ProjectValidator {
      * @return status message with what are the folders present in structure
      */
     private String isValidProject(File projectPath){
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
         log.info("checking valid project or not by using projectpath as input");
         File dir = projectPath.getAbsoluteFile();
 
@@ -70,22 +62,11 @@ public class ProjectValidator {
             log.info("main, test directories and serenity properties file are present in project");
                 File pomFile = new File(dir + separator + "pom.xml");
                 if (pomFile.exists()) {
-                    stopWatch.stop();
-                    log.info("Execution time for " + new Object() {
-                    }.getClass().getEnclosingMethod().getName() +
-                            " method is " + String.format("%.2f", stopWatch.getTotalTimeSeconds()) + " seconds");
                     return projectAutType(pomFile);
                 } else {
-                    stopWatch.stop();
-                    log.info("Execution time for " + new Object() {
-                    }.getClass().getEnclosingMethod().getName() +
-                            " method is " + String.format("%.2f", stopWatch.getTotalTimeSeconds()) + " seconds");
                     return "pom file does not exists";
                 }
             } else{
-            stopWatch.stop();
-            log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                    " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
             return "main, test directories and serenity properties file  does not exists";
         }
     }
@@ -96,8 +77,6 @@ public class ProjectValidator {
      * @return if valid returns aut type else returns a message as invalid
      */
     private String projectAutType(File pomFile){
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
         log.info("getting project autType by using pomfile as input");
         final String GROUPID_WEB =  "<groupId>com.kitap.fw.web</groupId>";
         final String GROUPID_SF = "<groupId>com.kitap.fw.salesforce</groupId>";
@@ -139,9 +118,6 @@ public class ProjectValidator {
             }
             if (isKitapCore && containsPlatform){
                 log.info("returned project autType");
-                stopWatch.stop();
-                log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                        " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
                 return value;
             }
         } catch (IOException ex) {
@@ -149,9 +125,6 @@ public class ProjectValidator {
             throw new RuntimeException(ex);
         }
         log.info("not able to return autType because not a valid kitap project");
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
         return "it is not a valid kitap project";
     }
 }
\ No newline at end of file
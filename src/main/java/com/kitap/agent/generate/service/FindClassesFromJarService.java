@@ -6,7 +6,6 @@ import com.kitap.testresult.dto.agent.GenerationDetails;
 import com.kitap.testresult.dto.generate.AUT;
 import com.kitap.testresult.dto.generate.Clazz;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.util.StopWatch;
 
 import java.io.File;
 import java.util.List;
@@ -25,8 +24,6 @@ public class FindClassesFromJarService {
      * @return json format after parsing the jar
      */
     public String parseJar(File jarFile, GenerationDetails details){
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
         log.info("method parseJar started");
         AUT aut = new AUT();
 
@@ -46,9 +43,6 @@ public class FindClassesFromJarService {
         aut.setTestCases(classes);
         Gson gson = new GsonBuilder().setPrettyPrinting().create();
         log.info("method parseJar completed with returning Json as string");
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
         return gson.toJson(aut);
     }
 }
\ No newline at end of file
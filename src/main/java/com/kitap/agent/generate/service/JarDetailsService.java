@@ -2,7 +2,6 @@ package com.kitap.agent.generate.service;
 
 import com.kitap.testresult.dto.generate.AUT;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.util.StopWatch;
 
 import java.time.ZonedDateTime;
 
@@ -23,8 +22,6 @@ public class JarDetailsService {
      * @param jarFile jarfile as File object
      */
     public void getMetaData(AUT aut, File jarFile){
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
         log.info("method getMetaData started with aut and jarfile");
         String jarFileName = jarFile.getName();
         String jarFilePath = jarFile.getAbsolutePath();
@@ -41,8 +38,5 @@ public class JarDetailsService {
         aut.setScanDate(ZonedDateTime.now().toString());
         aut.setLastModified(ZonedDateTime.now().toString());
         log.info("method getMetaData completed");
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
     }
 }
\ No newline at end of file
@@ -8,7 +8,6 @@ import javassist.*;
 import javassist.expr.ExprEditor;
 import javassist.expr.MethodCall;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.util.StopWatch;
 
 import java.io.File;
 import java.io.IOException;
@@ -45,8 +44,6 @@ public class JarParserService{
      * @return list of Clazz objects
      */
     public List<Clazz> getAllClassData(File jarFile, GenerationDetails details) {
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
         log.info("method getAllClassData started with jarfile and generationdetails");
         try {
             String jarsPath = details.getProjectPath().getAbsolutePath()+ File.separator + "target" + File.separator + "test-jars";
@@ -70,9 +67,6 @@ public class JarParserService{
             throw new RuntimeException(e);
         }
         log.info("method getAllClassData completed with returning list of Clazz objects");
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
         return scanJar(jarFile);
     }
 
@@ -82,8 +76,6 @@ public class JarParserService{
      * @return list of Clazz objects
      */
     private List<Clazz> scanJar(File jarFile) {
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
         log.info("scanning the jar by using jarfile as input");
         JarFile jar;
         try {
@@ -104,9 +96,6 @@ public class JarParserService{
         }
         filterTestClasses();
         log.info("scanning the jar completed with returning list of clazz objects");
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
         return constructClazzObjects();
     }
 
@@ -114,8 +103,6 @@ public class JarParserService{
      * Filtering the test classes present in the jar file
      */
     private void filterTestClasses() {
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
         log.info("filtering test classes");
         HashSet<Class<?>> classes = new HashSet<>();
         for (String clazz : listOfClasses) {
@@ -129,9 +116,6 @@ public class JarParserService{
             }
         }
         listOfTestClasses = classes.stream().filter(this::hasMethodWithTestAnnotation).collect(Collectors.toSet());
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
     }
 
     /**
@@ -139,17 +123,12 @@ public class JarParserService{
      * @return list of Clazz objects
      */
     private List<Clazz> constructClazzObjects() {
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
         log.info("constructing Clazz objects");
         List<Clazz> classes = new ArrayList<>();
         for (Class<?> cls : listOfTestClasses) {
             classes.add(getClassObject(cls));
         }
         log.info("constructed Clazz objects and returning them as list");
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
         return classes;
     }
 
@@ -159,8 +138,6 @@ public class JarParserService{
      * @return Clazz object
      */
     private Clazz getClassObject(Class<?> clazz) {
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
         Clazz klazz = new Clazz();
         String name = clazz.getName();
         klazz.setName(name.substring(name.lastIndexOf(".") + 1));
@@ -169,9 +146,6 @@ public class JarParserService{
         klazz.setVersion(version);
         klazz.setSteps(constructStepsFromTestMethod(clazz));
         log.info("getting Clazz object");
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
         return klazz;
     }
 
@@ -181,8 +155,6 @@ public class JarParserService{
      * @return list of Step objects
      */
     private List<Step> constructStepsFromTestMethod(Class<?> clazz) {
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
         log.info("constructing steps from test method by using clazz object as input");
         //getting declared fields and finding which are steps fields
         Field[] declaredFields = clazz.getDeclaredFields();
@@ -202,9 +174,6 @@ public class JarParserService{
         log.info("constructed steps from test method are returned as list");
 
         // constructing steps for each test script
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
         return constructSteps(stepFieldTypes, clazz.getName(), testMethod.getName());
     }
 
@@ -216,8 +185,6 @@ public class JarParserService{
      * @return list of step objects
      */
     private List<Step> constructSteps(List<String> stepFieldTypes, String className, String methodName) {
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
         List<Step> steps = getSteps(className, methodName);
         List<Step> finalSteps = new ArrayList<>();
         long count = 1L;
@@ -229,9 +196,6 @@ public class JarParserService{
                 finalSteps.add(step);
             }
         }
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
         return finalSteps;
     }
 
@@ -242,8 +206,6 @@ public class JarParserService{
      * @return list of step objects
      */
     private List<Step> getSteps(String className, String methodName) {
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
         CtClass ctClass;
         List<Step> steps = new ArrayList<>();
         try {
@@ -263,9 +225,6 @@ public class JarParserService{
         } catch (NotFoundException | CannotCompileException e) {
             throw new RuntimeException(e);
         }
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
         return steps;
     }
 
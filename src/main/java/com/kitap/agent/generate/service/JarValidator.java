@@ -1,7 +1,6 @@
 package com.kitap.agent.generate.service;
 
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.util.StopWatch;
 
 import java.io.BufferedReader;
 import java.io.File;
@@ -23,8 +22,6 @@ public class JarValidator  {
      * @throws IOException exception by exec method, readLine method
      */
     public boolean isJarValid(String name, String path) throws IOException {
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
         log.info("method isJarValid started with jarfile name and path");
         Process process = Runtime.getRuntime().exec("java -jar " + name, null, new File(path));
         InputStreamReader inputStreamReader = new InputStreamReader(process.getErrorStream());
@@ -39,26 +36,17 @@ public class JarValidator  {
                 log.info(" The Given Jar File is valid ");
                 log.info("method isJarValid completed with returning true");
 
-                stopWatch.stop();
-                log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                        " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
                 return true;
             } else if (line.contains("Error: Invalid or corrupt jarfile")) {
                 log.info(" The Given Jar File in INVALID, Pls Check");
                 log.error(line);
                 log.info("method isJarValid completed with returning false");
 
-                stopWatch.stop();
-                log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                        " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
                 return false;
             } else {
                 log.error(" Something went wrong ");
                 log.info("method isJarValid completed with returning false");
 
-                stopWatch.stop();
-                log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                        " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
                 return false;
             }
         }
@@ -0,0 +1,226 @@
+package com.kitap.agent.generate.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Class used to fingerprint the build inputs of a test project, the sources and the build files,
+ * so that a build can be skipped or done without clean when nothing or only some files have changed.
+ * Every entry is stored as size:lastModified:sha-256, the hash is computed again only for the files
+ * whose size or last modified time differ from the previous fingerprint
+ * @author KT1450
+ */
+@Slf4j
+public class BuildFingerprint {
+    private static final String FILE_NAME = "kitap-build.fingerprint";
+    private static final List<String> BUILD_FILES = List.of("pom.xml", "serenity.properties", "serenity.conf", "testng.xml");
+
+    private final Map<String, String> entries;
+
+    private BuildFingerprint(Map<String, String> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Method fingerprints the src folder and the build files of the project
+     * @param projectDirectory root of the test project
+     * @param previous fingerprint of the last build, used to skip hashing of untouched files
+     * @return fingerprint of the project
+     */
+    public static BuildFingerprint of(Path projectDirectory, BuildFingerprint previous) {
+        Map<String, String> entries = new TreeMap<>();
+        try {
+            for (String buildFile : BUILD_FILES) {
+                Path file = projectDirectory.resolve(buildFile);
+                if (Files.isRegularFile(file)) {
+                    entries.put(buildFile, entry(file, previous.entries.get(buildFile)));
+                }
+            }
+            Path src = projectDirectory.resolve("src");
+            if (Files.isDirectory(src)) {
+                try (Stream<Path> files = Files.walk(src)) {
+                    for (Path file : files.filter(Files::isRegularFile).toList()) {
+                        String key = projectDirectory.relativize(file).toString().replace('\\', '/');
+                        entries.put(key, entry(file, previous.entries.get(key)));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.error(e.toString());
+            throw new RuntimeException(e);
+        }
+        log.info("fingerprinted {} build inputs of {}", entries.size(), projectDirectory);
+        return new BuildFingerprint(entries);
+    }
+
+    /**
+     * Method loads the fingerprint stored by the last successful build
+     * @param projectDirectory root of the test project
+     * @return stored fingerprint, empty when the project was not built by the agent before
+     */
+    public static BuildFingerprint load(Path projectDirectory) {
+        Path file = location(projectDirectory);
+        Map<String, String> entries = new TreeMap<>();
+        if (Files.isRegularFile(file)) {
+            Properties properties = new Properties();
+            try (InputStream inputStream = Files.newInputStream(file)) {
+                properties.load(inputStream);
+            } catch (IOException e) {
+                log.warn("unable to read build fingerprint " + file + ", building from scratch: " + e);
+                return new BuildFingerprint(entries);
+            }
+            properties.stringPropertyNames().forEach(key -> entries.put(key, properties.getProperty(key)));
+        }
+        return new BuildFingerprint(entries);
+    }
+
+    /**
+     * Method stores the fingerprint into the target folder of the project
+     * @param projectDirectory root of the test project
+     */
+    public void store(Path projectDirectory) {
+        Path file = location(projectDirectory);
+        Properties properties = new Properties();
+        properties.putAll(entries);
+        try {
+            Files.createDirectories(file.getParent());
+            try (OutputStream outputStream = Files.newOutputStream(file)) {
+                properties.store(outputStream, "KiTAP build inputs");
+            }
+        } catch (IOException e) {
+            log.error(e.toString());
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Method deletes the stored fingerprint, so that the next build does not take the jar in the target folder as up to date
+     * @param projectDirectory root of the test project
+     */
+    public static void delete(Path projectDirectory) {
+        try {
+            Files.deleteIfExists(location(projectDirectory));
+        } catch (IOException e) {
+            log.error(e.toString());
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * @return true when the project was never fingerprinted
+     */
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * Method returns the merkle root hash of the build inputs, equal for projects with the same sources and build files
+     * @return root hash
+     */
+    public String rootHash() {
+        return treeHash(hashes());
+    }
+
+    /**
+     * Checks whether the build inputs are the same as in the given fingerprint
+     * @param other fingerprint to compare with
+     * @return true when no file was added, changed or deleted
+     */
+    public boolean sameAs(BuildFingerprint other) {
+        return hashes().equals(other.hashes());
+    }
+
+    /**
+     * Checks whether an incremental build is unsafe compared to the given fingerprint,
+     * that is when a file was deleted, because maven keeps its stale classes in target,
+     * or when a build file was changed
+     * @param previous fingerprint of the last build
+     * @return true when clean is required
+     */
+    public boolean requiresClean(BuildFingerprint previous) {
+        if (!entries.keySet().containsAll(previous.entries.keySet())) {
+            return true;
+        }
+        for (String buildFile : BUILD_FILES) {
+            if (!hashOf(entries.get(buildFile)).equals(hashOf(previous.entries.get(buildFile)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Map<String, String> hashes() {
+        Map<String, String> hashes = new TreeMap<>();
+        entries.forEach((key, value) -> hashes.put(key, hashOf(value)));
+        return hashes;
+    }
+
+    private static String hashOf(String entry) {
+        return entry == null ? "" : entry.substring(entry.lastIndexOf(':') + 1);
+    }
+
+    private static Path location(Path projectDirectory) {
+        return projectDirectory.resolve("target").resolve(FILE_NAME);
+    }
+
+    /**
+     * Creates the entry of a file, reusing the hash of the previous entry when size and time are unchanged
+     * @param file file to fingerprint
+     * @param previous previous entry of the file, may be null
+     * @return size:lastModified:sha-256 of the file
+     * @throws IOException when the file cannot be read
+     */
+    private static String entry(Path file, String previous) throws IOException {
+        String stamp = Files.size(file) + ":" + Files.getLastModifiedTime(file).toMillis();
+        if (previous != null && previous.startsWith(stamp + ":")) {
+            return previous;
+        }
+        return stamp + ":" + sha256(Files.readAllBytes(file));
+    }
+
+    /**
+     * Computes the merkle tree hash of the given files, every directory is hashed from the sorted
+     * names and hashes of its children
+     * @param hashes file hashes by path relative to the hashed directory
+     * @return hash of the directory
+     */
+    private static String treeHash(Map<String, String> hashes) {
+        Map<String, String> nodes = new TreeMap<>();
+        Map<String, Map<String, String>> directories = new TreeMap<>();
+        hashes.forEach((path, hash) -> {
+            int slash = path.indexOf('/');
+            if (slash < 0) {
+                nodes.put(path, hash);
+            } else {
+                directories.computeIfAbsent(path.substring(0, slash), name -> new TreeMap<>()).put(path.substring(slash + 1), hash);
+            }
+        });
+        directories.forEach((name, children) -> nodes.put(name + "/", treeHash(children)));
+        StringBuilder node = new StringBuilder();
+        nodes.forEach((name, hash) -> node.append(name).append('=').append(hash).append('\n'));
+        return sha256(node.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            log.error(e.toString());
+            throw new RuntimeException(e);
+        }
+    }
+}
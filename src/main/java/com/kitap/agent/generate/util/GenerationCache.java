@@ -0,0 +1,98 @@
+package com.kitap.agent.generate.util;
+
+import com.kitap.agent.util.PropertyReaderHelper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+/**
+ * Class used to find an already generated version of an AUT for an unchanged test project.
+ * The merkle root hash of the project is stored in every version folder when the version is generated
+ * @author KT1450
+ */
+@Slf4j
+public class GenerationCache {
+    private static final String FILE_NAME = "kitap-generation.properties";
+    private static final String PROJECT_HASH = "projectHash";
+
+    /**
+     * Method computes the hash of the sources and build files of the test project
+     * @param projectDirectory root of the test project
+     * @return merkle root hash of the project
+     */
+    public String hashOf(Path projectDirectory) {
+        return BuildFingerprint.of(projectDirectory, BuildFingerprint.load(projectDirectory)).rootHash();
+    }
+
+    /**
+     * Method finds the latest version of the AUT generated from a project with the same hash
+     * @param autType type of the AUT
+     * @param autName name of the AUT
+     * @param projectHash hash of the test project
+     * @return version or null when no version was generated from the same project content
+     */
+    public String findVersion(String autType, String autName, String projectHash) {
+        Path autPath = Path.of(PropertyReaderHelper.getProperty("destinationpath"), autType, autName);
+        if (!Files.isDirectory(autPath)) {
+            return null;
+        }
+        try (Stream<Path> children = Files.list(autPath)) {
+            List<Path> versions = children
+                    .filter(path -> Files.isDirectory(path) && path.getFileName().toString().matches("\\d+"))
+                    .sorted(Comparator.comparingLong((Path path) -> Long.parseLong(path.getFileName().toString())).reversed())
+                    .toList();
+            for (Path version : versions) {
+                if (projectHash.equals(readHash(version)) && Files.isRegularFile(version.resolve(autName + ".json"))) {
+                    log.info("version {} of {} is generated from the same project content", version.getFileName(), autName);
+                    return version.getFileName().toString();
+                }
+            }
+        } catch (IOException e) {
+            log.error(e.toString());
+            throw new RuntimeException(e);
+        }
+        return null;
+    }
+
+    /**
+     * Method stores the hash of the test project in the version folder
+     * @param autType type of the AUT
+     * @param autName name of the AUT
+     * @param version generated version
+     * @param projectHash hash of the test project
+     */
+    public void store(String autType, String autName, String version, String projectHash) {
+        Path file = Path.of(PropertyReaderHelper.getProperty("destinationpath"), autType, autName, version, FILE_NAME);
+        Properties properties = new Properties();
+        properties.setProperty(PROJECT_HASH, projectHash);
+        try (OutputStream outputStream = Files.newOutputStream(file)) {
+            properties.store(outputStream, "KiTAP generation cache");
+        } catch (IOException e) {
+            log.error(e.toString());
+            throw new RuntimeException(e);
+        }
+    }
+
+    private String readHash(Path version) {
+        Path file = version.resolve(FILE_NAME);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            properties.load(inputStream);
+        } catch (IOException e) {
+            log.warn("unable to read " + file + ": " + e);
+            return null;
+        }
+        return properties.getProperty(PROJECT_HASH);
+    }
+}
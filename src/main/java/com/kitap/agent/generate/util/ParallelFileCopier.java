@@ -0,0 +1,176 @@
+package com.kitap.agent.generate.util;
+
+import com.kitap.agent.util.PropertyReaderHelper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class used for copying a project folder, the folders are created while walking the tree
+ * and the files are copied in parallel on a bounded pool. Files and folders whose name matches
+ * one of the exclude globs, like build output and version control folders, are not copied
+ * @author KT1450
+ */
+@Slf4j
+public class ParallelFileCopier {
+    private final List<PathMatcher> excludes = new ArrayList<>();
+    private final int threads;
+    private volatile boolean linksSupported = true;
+
+    /**
+     * Creates the copier with the excludes and the pool size configured in the properties
+     */
+    public ParallelFileCopier() {
+        this(Arrays.stream(PropertyReaderHelper.getProperty("copyexcludes").split(",")).map(String::trim).toList(),
+                Integer.parseInt(PropertyReaderHelper.getProperty("copythreads")));
+    }
+
+    /**
+     * Creates the copier
+     * @param excludeGlobs globs matched against the name of every file and folder
+     * @param threads number of files copied at the same time
+     */
+    public ParallelFileCopier(List<String> excludeGlobs, int threads) {
+        for (String glob : excludeGlobs) {
+            if (!glob.isBlank()) {
+                excludes.add(FileSystems.getDefault().getPathMatcher("glob:" + glob));
+            }
+        }
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Method copies the source folder into the target folder, existing files are replaced
+     * @param source folder to be copied
+     * @param target destination folder
+     */
+    public void copy(Path source, Path target) {
+        copy(source, target, null);
+    }
+
+    /**
+     * Method copies the source folder into the target folder, files having the same size and last modified
+     * time as in the snapshot folder are hard linked to the snapshot file instead of being copied,
+     * so that they take no additional disk space. Files are copied when the file system does not support hard links
+     * @param source folder to be copied
+     * @param target destination folder
+     * @param snapshot earlier copy of the source folder, null to copy all the files
+     */
+    public void copy(Path source, Path target, Path snapshot) {
+        long startedAt = System.nanoTime();
+        AtomicInteger files = new AtomicInteger();
+        AtomicLong bytes = new AtomicLong();
+        AtomicInteger linkedFiles = new AtomicInteger();
+        AtomicLong linkedBytes = new AtomicLong();
+        List<Future<?>> copies = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            Files.walkFileTree(source, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    if (!dir.equals(source) && isExcluded(dir)) {
+                        log.debug("excluded {} from copy", dir);
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    Files.createDirectories(target.resolve(source.relativize(dir)));
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    if (isExcluded(file)) {
+                        return FileVisitResult.CONTINUE;
+                    }
+                    Path destination = target.resolve(source.relativize(file));
+                    Path snapshotFile = snapshot == null ? null : snapshot.resolve(source.relativize(file));
+                    copies.add(executor.submit(() -> {
+                        if (snapshotFile != null && link(snapshotFile, destination, attrs)) {
+                            linkedFiles.incrementAndGet();
+                            linkedBytes.addAndGet(attrs.size());
+                        } else {
+                            Files.copy(file, destination, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+                        }
+                        files.incrementAndGet();
+                        bytes.addAndGet(attrs.size());
+                        return null;
+                    }));
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+            for (Future<?> copy : copies) {
+                copy.get();
+            }
+        } catch (IOException e) {
+            log.error(e.toString());
+            throw new RuntimeException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error(e.toString());
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            log.error(e.getCause().toString());
+            throw new RuntimeException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        double seconds = Math.max((System.nanoTime() - startedAt) / 1_000_000_000d, 0.001);
+        log.info("copied {} files ({} bytes) from {} to {} in {} seconds, {} files/s, {} MB/s",
+                files.get(), bytes.get(), source, target, String.format("%.2f", seconds),
+                String.format("%.0f", files.get() / seconds), String.format("%.2f", bytes.get() / seconds / (1024 * 1024)));
+        if (snapshot != null) {
+            log.info("{} unchanged files ({} bytes) are hard linked to {}", linkedFiles.get(), linkedBytes.get(), snapshot);
+        }
+    }
+
+    /**
+     * Hard links the destination to the snapshot file when the snapshot file is unchanged
+     * @param snapshotFile file of the earlier copy
+     * @param destination file to be created
+     * @param attrs attributes of the source file
+     * @return true when linked, false when the file has to be copied
+     * @throws IOException when an existing destination cannot be deleted
+     */
+    private boolean link(Path snapshotFile, Path destination, BasicFileAttributes attrs) throws IOException {
+        if (!linksSupported || !Files.isRegularFile(snapshotFile)
+                || Files.size(snapshotFile) != attrs.size()
+                || !Files.getLastModifiedTime(snapshotFile).equals(attrs.lastModifiedTime())) {
+            return false;
+        }
+        Files.deleteIfExists(destination);
+        try {
+            Files.createLink(destination, snapshotFile);
+            return true;
+        } catch (UnsupportedOperationException | IOException e) {
+            log.warn("hard links are not supported for {}, copying files instead: {}", destination, e.toString());
+            linksSupported = false;
+            return false;
+        }
+    }
+
+    private boolean isExcluded(Path path) {
+        Path name = path.getFileName();
+        for (PathMatcher exclude : excludes) {
+            if (exclude.matches(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,37 @@
+package com.kitap.agent.metrics;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Timers of the classes which are not spring beans and so can not use @Timed, the timers are registered
+ * in the global registry which forwards them to every registry the application adds
+ * @author KT1450
+ */
+public final class MethodTimers {
+
+    private MethodTimers() {
+    }
+
+    /**
+     * Returns the timer with given name and tags, the timer is created on the first call, callers on hot
+     * paths keep the returned timer in a static field
+     * @param name name of the timer
+     * @param tags tag keys and values
+     * @return timer
+     */
+    public static Timer timer(String name, String... tags) {
+        return Timer.builder(name)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(Metrics.globalRegistry);
+    }
+
+    /**
+     * Starts measuring a call, the returned sample is stopped with the timer of the call
+     * @return started sample
+     */
+    public static Timer.Sample start() {
+        return Timer.start(Metrics.globalRegistry);
+    }
+}
@@ -0,0 +1,25 @@
+package com.kitap.agent.metrics;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configures the aspect recording the methods annotated with @Timed, the meter registry is created by
+ * the actuator and scraped from /actuator/prometheus
+ * @author KT1450
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Aspect timing the bean methods annotated with @Timed
+     * @param registry meter registry
+     * @return timed aspect
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
@@ -0,0 +1,52 @@
+package com.kitap.agent.metrics;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * Records the latency of the rest calls as kitap.client.requests, tagged with the called target
+ * (server for server.base.url, agent for the local agent api), the http method and the status
+ * @author KT1450
+ */
+public class ServerCallMetricsInterceptor implements ClientHttpRequestInterceptor {
+    private final String serverUrl;
+
+    /**
+     * @param serverUrl base url of the kitap server
+     */
+    public ServerCallMetricsInterceptor(String serverUrl) {
+        this.serverUrl = serverUrl;
+    }
+
+    /**
+     * Executes the request and records its latency, failed calls are recorded with status IO_ERROR
+     * @param request http request
+     * @param body request body
+     * @param execution request execution
+     * @return http response
+     */
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        Timer.Sample sample = MethodTimers.start();
+        String status = "IO_ERROR";
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            status = String.valueOf(response.getStatusCode().value());
+            return response;
+        } finally {
+            String target = serverUrl != null && request.getURI().toString().startsWith(serverUrl) ? "server" : "agent";
+            sample.stop(Timer.builder("kitap.client.requests")
+                    .tag("target", target)
+                    .tag("method", request.getMethod().name())
+                    .tag("status", status)
+                    .publishPercentileHistogram()
+                    .register(Metrics.globalRegistry));
+        }
+    }
+}
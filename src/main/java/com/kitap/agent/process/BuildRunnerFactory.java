@@ -0,0 +1,35 @@
+package com.kitap.agent.process;
+
+import com.kitap.agent.util.PropertyReaderHelper;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Class used for getting the build runner configured with the buildrunner property
+ * @author KT1450
+ */
+@Slf4j
+public class BuildRunnerFactory {
+    private static volatile IBuildRunner buildRunner;
+
+    private BuildRunnerFactory() {
+    }
+
+    /**
+     * Method returns the shared build runner, daemon runs maven on a warm maven daemon
+     * and process starts a new maven JVM for every command
+     * @return build runner
+     */
+    public static IBuildRunner getBuildRunner() {
+        if (buildRunner == null) {
+            synchronized (BuildRunnerFactory.class) {
+                if (buildRunner == null) {
+                    String type = PropertyReaderHelper.getProperty("buildrunner");
+                    IBuildRunner runner = "daemon".equalsIgnoreCase(type) ? new DaemonBuildRunner() : new ProcessBuildRunner();
+                    log.info("using {} build runner", runner.getClass().getSimpleName());
+                    buildRunner = new TimedBuildRunner(runner);
+                }
+            }
+        }
+        return buildRunner;
+    }
+}
@@ -0,0 +1,51 @@
+package com.kitap.agent.process;
+
+import com.kitap.agent.util.PropertyReaderHelper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * IBuildRunner implemented class which runs the maven commands on the maven daemon (mvnd),
+ * the daemon keeps a warm JVM with loaded plugins alive between the commands,
+ * so repeated generate and execute cycles skip the maven startup
+ * @author KT1450
+ */
+@Slf4j
+public class DaemonBuildRunner implements IBuildRunner {
+    private final String mavenCommand = PropertyReaderHelper.getProperty("mavencommand");
+    private final String daemonCommand = PropertyReaderHelper.getProperty("mavendaemoncommand");
+    private final String daemonOptions = PropertyReaderHelper.getProperty("mavendaemonoptions");
+    private final IBuildRunner fallback = new ProcessBuildRunner();
+    private volatile boolean daemonAvailable = true;
+
+    /**
+     * Method replaces the maven executable of the command with the daemon client and starts it,
+     * the command is started with plain maven when the daemon client is not installed
+     * @param command build command to run
+     * @param directory location where the command runs
+     * @return started process
+     */
+    @Override
+    public Process start(List<String> command, File directory) {
+        if (!daemonAvailable || command.isEmpty() || !command.get(0).equals(mavenCommand)) {
+            return fallback.start(command, directory);
+        }
+        List<String> daemonised = new ArrayList<>(command);
+        daemonised.set(0, daemonCommand);
+        if (daemonOptions != null && !daemonOptions.isBlank()) {
+            daemonised.addAll(IBuildRunner.split(daemonOptions));
+        }
+        log.info("running command {} on maven daemon at {}", String.join(" ", daemonised), directory);
+        try {
+            return new ProcessBuilder(daemonised).directory(directory).start();
+        } catch (IOException e) {
+            log.warn("maven daemon is not available, falling back to maven: " + e);
+            daemonAvailable = false;
+            return fallback.start(command, directory);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.kitap.agent.process;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Interface used for starting the build tool commands like maven validate, compile, package and verify
+ * @author KT1450
+ */
+public interface IBuildRunner {
+    /**
+     * abstract method used for starting a build command
+     * @param command build command to run, the executable followed by its arguments, arguments are passed as they are
+     * @param directory location where the command runs
+     * @return started process, output and exit value are read by the caller
+     */
+    Process start(List<String> command, File directory);
+
+    /**
+     * Starts a configured build command, the command is split into its arguments at the whitespaces
+     * @param command build command to run
+     * @param directory location where the command runs
+     * @return started process, output and exit value are read by the caller
+     */
+    default Process start(String command, File directory) {
+        return start(split(command), directory);
+    }
+
+    /**
+     * Splits a configured command into its arguments at the whitespaces
+     * @param command build command
+     * @return executable followed by its arguments
+     */
+    static List<String> split(String command) {
+        return Arrays.stream(command.trim().split("\\s+")).filter(argument -> !argument.isEmpty()).toList();
+    }
+}
@@ -0,0 +1,32 @@
+package com.kitap.agent.process;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * IBuildRunner implemented class which starts every command in a new build tool JVM
+ * @author KT1450
+ */
+@Slf4j
+public class ProcessBuildRunner implements IBuildRunner {
+
+    /**
+     * Method starts the command as it is
+     * @param command build command to run
+     * @param directory location where the command runs
+     * @return started process
+     */
+    @Override
+    public Process start(List<String> command, File directory) {
+        log.info("running command {} at {}", String.join(" ", command), directory);
+        try {
+            return new ProcessBuilder(command).directory(directory).start();
+        } catch (IOException e) {
+            log.error(e.toString());
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.kitap.agent.process;
+
+import com.kitap.agent.util.PropertyReaderHelper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Class used for draining the stdout and stderr of a child process at the same time on dedicated reader threads,
+ * so the child never blocks on a full pipe. Every line is logged and passed to the subscribers as soon as it is read,
+ * only the last lines are kept in a bounded ring buffer for error reports
+ * @author KT1450
+ */
+@Slf4j
+public class ProcessOutputPipeline {
+    private final Process process;
+    private final String name;
+    private final int tailSize;
+    private final Deque<String> tail;
+    private final List<Consumer<String>> subscribers = new CopyOnWriteArrayList<>();
+    private Thread stdoutReader;
+    private Thread stderrReader;
+
+    /**
+     * Creates the pipeline with the tail size configured in processoutputtaillines
+     * @param process started child process
+     * @param name name used for the reader threads and the log lines
+     */
+    public ProcessOutputPipeline(Process process, String name) {
+        this(process, name, Integer.parseInt(PropertyReaderHelper.getProperty("processoutputtaillines")));
+    }
+
+    /**
+     * Creates the pipeline
+     * @param process started child process
+     * @param name name used for the reader threads and the log lines
+     * @param tailSize number of last lines kept
+     */
+    public ProcessOutputPipeline(Process process, String name, int tailSize) {
+        this.process = process;
+        this.name = name;
+        this.tailSize = Math.max(1, tailSize);
+        this.tail = new ArrayDeque<>(this.tailSize);
+    }
+
+    /**
+     * Adds a subscriber which receives every line of stdout and stderr, it is called on the reader threads
+     * @param subscriber line consumer
+     * @return this pipeline
+     */
+    public ProcessOutputPipeline subscribe(Consumer<String> subscriber) {
+        subscribers.add(subscriber);
+        return this;
+    }
+
+    /**
+     * Starts the reader threads
+     * @return this pipeline
+     */
+    public ProcessOutputPipeline start() {
+        stdoutReader = reader(process.getInputStream(), name + "-stdout", false);
+        stderrReader = reader(process.getErrorStream(), name + "-stderr", true);
+        stdoutReader.start();
+        stderrReader.start();
+        return this;
+    }
+
+    /**
+     * Waits until both the streams are closed by the child process
+     * @return last lines of the output
+     */
+    public String await() {
+        try {
+            stdoutReader.join();
+            stderrReader.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error(e.toString());
+            throw new RuntimeException(e);
+        }
+        return getTail();
+    }
+
+    /**
+     * @return last lines of the output read so far, separated by new lines
+     */
+    public String getTail() {
+        synchronized (tail) {
+            return String.join("\n", tail);
+        }
+    }
+
+    private Thread reader(InputStream stream, String threadName, boolean error) {
+        Thread thread = new Thread(() -> {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    accept(line, error);
+                }
+            } catch (IOException e) {
+                log.warn("{} output of {} closed: {}", error ? "error" : "standard", name, e.toString());
+            }
+        }, threadName);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private void accept(String line, boolean error) {
+        if (error) {
+            log.warn("[{}] {}", name, line);
+        } else {
+            log.info("[{}] {}", name, line);
+        }
+        synchronized (tail) {
+            if (tail.size() == tailSize) {
+                tail.removeFirst();
+            }
+            tail.addLast(line);
+        }
+        for (Consumer<String> subscriber : subscribers) {
+            try {
+                subscriber.accept(line);
+            } catch (RuntimeException e) {
+                log.warn("output subscriber of {} failed: {}", name, e.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.kitap.agent.process;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class used for terminating a process together with all the processes it started,
+ * like the forked test JVMs, chromedriver and the browsers of a maven execution
+ * @author KT1450
+ */
+@Slf4j
+public class ProcessTree {
+
+    private ProcessTree() {
+    }
+
+    /**
+     * Method asks the process and all its descendants to terminate and kills the ones
+     * still alive after the grace period. The descendants are collected before the process is
+     * terminated, as they cannot be found from the process anymore once it is gone
+     * @param process root process of the tree
+     * @param graceMillis time the processes are given to terminate normally
+     */
+    public static void destroy(Process process, long graceMillis) {
+        ProcessHandle root = process.toHandle();
+        List<ProcessHandle> tree = new ArrayList<>(root.descendants().toList());
+        tree.add(root);
+        log.info("terminating process {} with {} descendants", root.pid(), tree.size() - 1);
+        for (ProcessHandle handle : tree) {
+            handle.destroy();
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(graceMillis);
+        for (ProcessHandle handle : tree) {
+            long remaining = deadline - System.nanoTime();
+            try {
+                if (remaining > 0) {
+                    handle.onExit().get(remaining, TimeUnit.NANOSECONDS);
+                }
+            } catch (Exception e) {
+                log.debug("process {} did not terminate within the grace period", handle.pid());
+            }
+            if (handle.isAlive()) {
+                log.warn("killing process {}", handle.pid());
+                handle.destroyForcibly();
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.kitap.agent.process;
+
+import com.kitap.agent.metrics.MethodTimers;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Build runner recording how long the configured runner takes until the build process is started,
+ * the time the build itself runs is not included
+ * @author KT1450
+ */
+public class TimedBuildRunner implements IBuildRunner {
+    private final IBuildRunner buildRunner;
+    private final Timer spawnTimer;
+
+    /**
+     * @param buildRunner runner starting the processes
+     */
+    public TimedBuildRunner(IBuildRunner buildRunner) {
+        this.buildRunner = buildRunner;
+        this.spawnTimer = MethodTimers.timer("kitap.process.spawn", "runner", buildRunner.getClass().getSimpleName());
+    }
+
+    /**
+     * Starts the command with the wrapped runner and records the spawn latency
+     * @param command build command to run
+     * @param directory location where the command runs
+     * @return started process
+     */
+    @Override
+    public Process start(List<String> command, File directory) {
+        Timer.Sample sample = MethodTimers.start();
+        try {
+            return buildRunner.start(command, directory);
+        } finally {
+            sample.stop(spawnTimer);
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package com.kitap.agent.ui.controllers;
 
 import com.kitap.agent.api.apicalls.ApiCalls;
+import com.kitap.agent.execute.ValidBrowsers;
 import com.kitap.agent.generate.util.FileOperations;
 import com.kitap.agent.ui.tray.AddEffectsToMenuAndMenuItems;
 import com.kitap.agent.ui.tray.AgentTrayIcon;
 import com.kitap.agent.util.PropertyReader;
+import com.kitap.agent.util.PropertyReaderHelper;
 import com.kitap.testresult.dto.execute.ExecutionAutDetails;
 import javafx.animation.Animation;
 import javafx.animation.FadeTransition;
@@ -27,20 +29,16 @@ import org.springframework.util.StopWatch;
 
 import java.awt.*;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
-import java.util.Properties;
-
-enum ValidBrowsers{
-    CHROME,
-    EDGE,
-    FIREFOX,
-    SAFARI
-}
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Controller class for executeMenu.fxml file which includes functionality with fxml UI elements
@@ -54,7 +52,6 @@ public class ExecuteMenu {
     private final javafx.scene.image.Image agentRunningColour = new javafx.scene.image.Image(
             Objects.requireNonNull(AgentTrayIcon.class.getResource("/images/green.png")).toExternalForm());
 
-    private ApiCalls apiCalls = new ApiCalls();
     private PropertyReader reader = new PropertyReader();
     private String separator = File.separator;
     private FileOperations operations = new FileOperations();
@@ -91,8 +88,8 @@ public class ExecuteMenu {
         stopWatch.start();
         log.info("checking the browsers entered from config file and getting them if validation successful");
         ArrayList<String> validatedBrowsers = new ArrayList<>();
-        String supportedBrowsers = reader.getProperty("supportedBrowsers");
-        if (null == supportedBrowsers || supportedBrowsers.trim().isEmpty()) {
+        List<String> supportedBrowsers = PropertyReaderHelper.config().getList("supportedBrowsers");
+        if (supportedBrowsers.isEmpty()) {
             log.warn("Invalid supportedBrowsers config value.");
             stopWatch.stop();
             log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
@@ -100,8 +97,7 @@ public class ExecuteMenu {
             return new ArrayList<>();
         }
         else{
-            String[] supportingBrowsers = supportedBrowsers.replaceAll("\\s","").split(",");
-            for(String browser : supportingBrowsers){
+            for(String browser : supportedBrowsers){
                 if(Arrays.stream(ValidBrowsers.values()).anyMatch(b -> b.name().equals(browser.toUpperCase()))){
                     validatedBrowsers.add(browser);
                 }else{
@@ -125,11 +121,12 @@ public class ExecuteMenu {
         stopWatch.start();
         log.info("method initializing the execution UI");
         autType.getItems().removeAll(autType.getItems());
-        autType.getItems().addAll(apiCalls.getAutTypes());
+        autType.getItems().addAll(ApiCalls.getInstance().getAutTypes());
 
-        if(checkAndGetBrowsers().size()!=0) {
-            log.info(String.valueOf((checkAndGetBrowsers())));
-            browserBox.getItems().addAll(checkAndGetBrowsers());
+        ArrayList<String> browsers = checkAndGetBrowsers();
+        if(browsers.size()!=0) {
+            log.info(String.valueOf(browsers));
+            browserBox.getItems().addAll(browsers);
             log.info("browsers added in CheckComboBox of execution UI");
         }else{
             Platform.runLater(() -> {
@@ -233,22 +230,19 @@ public class ExecuteMenu {
                     cancelButton.setDisable(true);
                 });
 
+                ExecutionAutDetails details = new ExecutionAutDetails();
+                details.setTestType(autType.getValue());
+                details.setAut(executeAutCombo.getValue());
+                details.setVersion(versionCombo.getValue());
+                details.setTestCases(null);
                 if (!toggleSwitch.isSelected()) {
                     log.info("sequential execution started");
-                    String[] browserArray = browsers.toArray(new String[browsers.size()]);
-                    for (String browser : browserArray) {
-                        settingBrowserProperties(browser);
-                        ExecutionAutDetails details = new ExecutionAutDetails();
-                        details.setTestType(autType.getValue());
-                        details.setAut(executeAutCombo.getValue());
-                        details.setVersion(versionCombo.getValue());
-                        details.setTestCases(null);
-                        log.info("api call to execute tests");
-                        apiCalls.executeTests(details);
+                    for (String browser : new ArrayList<>(browsers)) {
+                        log.info("api call to execute tests on {} browser", browser);
+                        ApiCalls.getInstance().executeTests(details, browser, false);
                     }
                 }else {
-                    log.warn("parallel Execution not implemented");
-                    //TODO for parallel execution
+                    executeInParallel(details, new ArrayList<>(browsers));
                 }
                 log.info("testExecution method completed");
                 stopWatch.stop();
@@ -318,7 +312,7 @@ public class ExecuteMenu {
         stopWatch.start();
         log.info("on change of autType,updating the auts present");
         executeAutCombo.getItems().removeAll(executeAutCombo.getItems());
-        executeAutCombo.getItems().addAll(apiCalls.getAllAUT(autType.getValue()));
+        executeAutCombo.getItems().addAll(ApiCalls.getInstance().getAllAUT(autType.getValue()));
         executeAutCombo.getItems().remove("");
         log.info("method onChangeOfAurType completed");
         stopWatch.stop();
@@ -344,34 +338,43 @@ public class ExecuteMenu {
     }
 
     /**
-     * For execution, setting the browser properties in test project dynamically with respect to selected browser
-     * @param browser selected browser as input
+     * Executes the selected browsers at the same time, each browser is executed in its own working copy
+     * with the browser passed as system property, at most parallelbrowserlimit browsers run together
+     * @param details execution details
+     * @param browsers selected browsers
      */
-    private void settingBrowserProperties(String browser){
+    private void executeInParallel(ExecutionAutDetails details, List<String> browsers){
         StopWatch stopWatch = new StopWatch();
         stopWatch.start();
-        log.info("setting properties for {} browser",browser);
-        String serenityPropertiesPath = reader.getProperty("destinationpath") + separator +
-                autType.getValue() + separator + executeAutCombo.getValue() + separator +
-                versionCombo.getValue() + separator + "serenity.properties";//Test project's serenity.properties file path
-        log.info(serenityPropertiesPath);
-
-        Properties properties = new Properties();
-        try(FileInputStream in = new FileInputStream(serenityPropertiesPath)) {
-
-            properties.load(in);//loading the serenity.properties file
-            properties.setProperty(reader.getProperty("browserPropertyKey"), browser);
-            try(FileOutputStream out = new FileOutputStream(serenityPropertiesPath)) {
-                properties.store(out, null);
+        int limit = Integer.parseInt(PropertyReaderHelper.getProperty("parallelbrowserlimit"));
+        int threads = Math.max(1, Math.min(limit, browsers.size()));
+        log.info("parallel execution started for {} browsers with {} at a time", browsers.size(), threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Callable<Void>> executions = new ArrayList<>();
+            for (String browser : browsers) {
+                executions.add(() -> {
+                    log.info("api call to execute tests on {} browser", browser);
+                    ApiCalls.getInstance().executeTests(details, browser, true);
+                    return null;
+                });
             }
-            log.info("{} browser properties setting completed",browser);
-        } catch (Exception e) {
+            for (Future<Void> execution : executor.invokeAll(executions)) {
+                try {
+                    execution.get();
+                } catch (ExecutionException e) {
+                    log.error("parallel execution failed", e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
             log.error(e.toString());
-            throw new RuntimeException(e);
+        } finally {
+            executor.shutdownNow();
         }
+        log.info("parallel execution completed");
         stopWatch.stop();
-        log.info("Execution time for " + new Object() {
-        }.getClass().getEnclosingMethod().getName() +
-                " method is " + String.format("%.2f", stopWatch.getTotalTimeSeconds()) + " seconds");
+        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
+                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
     }
-}
\ No newline at end of file
+}
@@ -4,6 +4,7 @@ import com.kitap.agent.api.apicalls.ApiCalls;
 import com.kitap.agent.generate.flow.Generator;
 import com.kitap.agent.generate.flow.Validator;
 import com.kitap.agent.generate.util.FileOperations;
+import com.kitap.agent.generate.util.GenerationCache;
 import com.kitap.agent.ui.tray.AddEffectsToMenuAndMenuItems;
 import com.kitap.agent.ui.tray.AgentTrayIcon;
 import com.kitap.testresult.dto.agent.GenerationDetails;
@@ -44,7 +45,6 @@ public class GenerateMenu {
     private final javafx.scene.image.Image agentRunningColour = new javafx.scene.image.Image(
             Objects.requireNonNull(AgentTrayIcon.class.getResource("/images/green.png")).toExternalForm());
     private FileOperations operations = new FileOperations();
-    private ApiCalls apiCalls = new ApiCalls();
     private File selectedDir;
     @FXML
     private Label generatingBlinkLabel;
@@ -168,7 +168,7 @@ public class GenerateMenu {
                 log.info("Onclick of OK button from NewAut UI");
                 String autNameString = autNameField.getText();
                 log.info("calling api to save AUT");
-                String result = apiCalls.saveAUT(autNameString, autTypeResult.getText());
+                String result = ApiCalls.getInstance().saveAUT(autNameString, autTypeResult.getText());
                 if (result.equals("Duplicated AUT")) {
                     //TODO need to show alert
                 } else {
@@ -276,14 +276,22 @@ public class GenerateMenu {
                     details.setCreateNewVersion(true);
                     details.setPublishToServer(false);
                     log.info(details.getAutName());
-                    Validator validator = new Validator();
-                    log.info("compiling and packaging the test project");
-                    validator.compileAndPackage(selectedDir);
-                    log.info("Copying the files");
-                    String version = validator.copyFiles(details);
-                    details.setVersion(Long.parseLong(version));
-                    log.info("Generating...");
-                    new Generator().generate(details);
+                    GenerationCache cache = new GenerationCache();
+                    String projectHash = cache.hashOf(selectedDir.toPath());
+                    String cachedVersion = cache.findVersion(details.getAutType(), details.getAutName(), projectHash);
+                    if (cachedVersion != null) {
+                        log.info("test project is unchanged, using the generated version " + cachedVersion);
+                    } else {
+                        Validator validator = new Validator();
+                        log.info("compiling and packaging the test project");
+                        validator.compileAndPackage(selectedDir);
+                        log.info("Copying the files");
+                        String version = validator.copyFiles(details);
+                        details.setVersion(Long.parseLong(version));
+                        log.info("Generating...");
+                        new Generator().generate(details);
+                        cache.store(details.getAutType(), details.getAutName(), version, projectHash);
+                    }
 
                     log.info("Generation Completed");
 
@@ -360,7 +368,7 @@ public class GenerateMenu {
                                 generateTestsButton.setDisable(false);
                                 createAutButton.setDisable(false);
                                 autCombo.getItems().removeAll(autCombo.getItems());
-                                autCombo.getItems().addAll(apiCalls.getAllAUT(checker[1]));
+                                autCombo.getItems().addAll(ApiCalls.getInstance().getAllAUT(checker[1]));
                                 autCombo.getItems().remove("");
                             }
                     );
@@ -20,7 +20,6 @@ import org.springframework.util.StopWatch;
 @Slf4j
 @Component
 public class RegisterMenu {
-    private ApiCalls apiCalls = new ApiCalls();
     @FXML
     private TextField nameTextField;
     @FXML
@@ -51,7 +50,7 @@ public class RegisterMenu {
             log.info("invalid key #" + agentKey);
         } else {
             log.info("calling api to register agent");
-            apiCalls.register(PropertyReaderHelper.machineInformation.getAgentDto(agentName), agentKey);
+            ApiCalls.getInstance().register(PropertyReaderHelper.machineInformation.getAgentDto(agentName), agentKey);
 
             log.info("Updating the menu");
             TrayIconAndMenuInitializer.updateMenu(new Stage());
@@ -26,7 +26,6 @@ import java.net.URL;
 @Slf4j
 @Component
 public class ContextMenuItemsAction {
-    private ApiCalls apiCalls = new ApiCalls();
     private Stage openedStage;
 
     /**
@@ -73,7 +72,7 @@ public class ContextMenuItemsAction {
         confirmationAlert.setContentText("Are you sure ??");
         confirmationAlert.showAndWait().ifPresent((btnType) -> {
             if (btnType == ButtonType.OK) {
-                apiCalls.deRegister(PropertyReaderHelper.machineInformation.macAddress);
+                ApiCalls.getInstance().deRegister(PropertyReaderHelper.machineInformation.macAddress);
                 Alert informationAlert = new Alert(Alert.AlertType.INFORMATION);
                 informationAlert.setTitle("Deregistration");
                 informationAlert.setContentText("Agent is Deregistered");
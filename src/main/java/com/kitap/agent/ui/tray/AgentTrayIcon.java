@@ -121,7 +121,6 @@ public class AgentTrayIcon {
         StopWatch stopWatch = new StopWatch();
         stopWatch.start();
         log.info("Adding menu to trayicon");
-        ApiCalls apiCalls = new ApiCalls();
 
         String serverCheck = PropertyReaderHelper.getProperty("isServerLess");
         boolean serverLess = Boolean.parseBoolean(serverCheck);
@@ -137,7 +136,7 @@ public class AgentTrayIcon {
         } else {
                 log.info("Menu for server is adding");
                 log.info("calling api to know registration status of agent");
-                boolean isRegistered = apiCalls.amIRegistered(PropertyReaderHelper.machineInformation.macAddress);
+                boolean isRegistered = ApiCalls.getInstance().amIRegistered(PropertyReaderHelper.machineInformation.macAddress);
                 log.info("Registration status of agent is {}", isRegistered);
                 if (!isRegistered) {
                     log.info("Menu if agent is - Not Registered");
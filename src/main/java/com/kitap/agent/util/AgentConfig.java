@@ -0,0 +1,218 @@
+package com.kitap.agent.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Immutable snapshot of the agent configuration, built from application.properties, the optional
+ *      override file (configoverridefile) and the values changed at runtime. Reading a value never
+ *      touches the disk, a change of the override file builds a new snapshot which replaces the
+ *      current one atomically
+ * @author KT1450
+ */
+@Slf4j
+public final class AgentConfig {
+    private static final Map<String, String> runtimeOverrides = new ConcurrentHashMap<>();
+    private static final AtomicReference<AgentConfig> current = new AtomicReference<>(load());
+    private static final AtomicBoolean watching = new AtomicBoolean();
+
+    private final Map<String, String> values;
+
+    private AgentConfig(Map<String, String> values) {
+        this.values = Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * @return current configuration snapshot
+     */
+    public static AgentConfig current() {
+        return current.get();
+    }
+
+    /**
+     * Changes a value for the rest of the run, the value is kept when the configuration is reloaded.
+     * Synchronized with reload so that a reload never replaces the snapshot with one missing the value
+     * @param key name of the property
+     * @param value new value
+     */
+    public static synchronized void override(String key, String value) {
+        runtimeOverrides.put(key, value);
+        current.set(load());
+    }
+
+    /**
+     * Rebuilds the snapshot from the property files
+     */
+    public static synchronized void reload() {
+        current.set(load());
+        log.info("configuration reloaded");
+    }
+
+    /**
+     * Starts watching the override file, the configuration is reloaded whenever the file is
+     * created, modified or deleted. Does nothing when confighotreload is false or the watcher is running
+     */
+    public static void watch() {
+        if (!current().getBoolean("confighotreload") || !watching.compareAndSet(false, true)) {
+            return;
+        }
+        Path file = overrideFile(current().values);
+        Thread watcher = new Thread(() -> watch(file), "config-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    /**
+     * @param key name of the property
+     * @return value of the property or null when it is not configured
+     */
+    public String getString(String key) {
+        return values.get(key);
+    }
+
+    /**
+     * @param key name of the property
+     * @return value of the property as int
+     */
+    public int getInt(String key) {
+        return Integer.parseInt(required(key));
+    }
+
+    /**
+     * @param key name of the property
+     * @return value of the property as long
+     */
+    public long getLong(String key) {
+        return Long.parseLong(required(key));
+    }
+
+    /**
+     * @param key name of the property
+     * @return true when the value of the property is true, false when it is not configured
+     */
+    public boolean getBoolean(String key) {
+        return Boolean.parseBoolean(values.get(key));
+    }
+
+    /**
+     * @param key name of the property
+     * @param unit unit the value is configured in
+     * @return value of the property as duration
+     */
+    public Duration getDuration(String key, ChronoUnit unit) {
+        return Duration.of(getLong(key), unit);
+    }
+
+    /**
+     * @param key name of the property
+     * @return trimmed comma separated values of the property, empty when it is not configured
+     */
+    public List<String> getList(String key) {
+        String value = values.get(key);
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(",")).map(String::trim).filter(item -> !item.isEmpty()).toList();
+    }
+
+    /**
+     * @return copy of all the values as properties
+     */
+    public Properties toProperties() {
+        Properties properties = new Properties();
+        properties.putAll(values);
+        return properties;
+    }
+
+    private String required(String key) {
+        String value = values.get(key);
+        if (value == null) {
+            log.error("property is not configured #" + key);
+            throw new IllegalStateException("property " + key + " is not configured");
+        }
+        return value.trim();
+    }
+
+    private static AgentConfig load() {
+        Properties properties = new Properties();
+        try (InputStream in = AgentConfig.class.getResourceAsStream("/application.properties")) {
+            properties.load(in);
+        } catch (IOException e) {
+            log.error(e.toString());
+            throw new RuntimeException(e);
+        }
+        Map<String, String> values = new HashMap<>();
+        properties.stringPropertyNames().forEach(key -> values.put(key, properties.getProperty(key)));
+        Path file = overrideFile(values);
+        if (file != null && Files.isRegularFile(file)) {
+            Properties overrides = new Properties();
+            try (Reader in = Files.newBufferedReader(file)) {
+                overrides.load(in);
+                overrides.stringPropertyNames().forEach(key -> values.put(key, overrides.getProperty(key)));
+                log.info("applied {} configuration overrides from {}", overrides.size(), file);
+            } catch (IOException e) {
+                log.warn("could not read configuration overrides from {}: {}", file, e.toString());
+            }
+        }
+        values.putAll(runtimeOverrides);
+        return new AgentConfig(values);
+    }
+
+    private static Path overrideFile(Map<String, String> values) {
+        String file = values.get("configoverridefile");
+        String destination = values.get("destinationpath");
+        if (file == null || file.isBlank() || destination == null) {
+            return null;
+        }
+        return Path.of(destination).resolve(file.trim());
+    }
+
+    private static void watch(Path file) {
+        if (file == null) {
+            return;
+        }
+        try (WatchService service = FileSystems.getDefault().newWatchService()) {
+            Files.createDirectories(file.getParent());
+            file.getParent().register(service, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            log.info("watching configuration overrides in {}", file);
+            while (true) {
+                WatchKey key = service.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    changed |= file.getFileName().equals(event.context());
+                }
+                key.reset();
+                if (changed) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.warn("configuration hot reload is disabled: {}", e.toString());
+        }
+    }
+}
@@ -2,25 +2,19 @@ package com.kitap.agent.util;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.util.StopWatch;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Properties;
 
 /**
- * Implemented class from IPropertyReader to get, load and read properties
+ * Implemented class from IPropertyReader to get, load and read properties,
+ *      the values are read from the current AgentConfig snapshot
  * @author KT1450
  */
 @Slf4j
 public class PropertyReader implements IPropertyReader{
 
-    private Properties properties = new Properties();
-
-    public PropertyReader(){
-        log.info("property reader constructor loaded");
-    }
-
     /**
      * Method returns matched key value
      * @param propertyName - used as key value
@@ -37,19 +31,12 @@ public class PropertyReader implements IPropertyReader{
      * @return a String value of matched key
      */
     private String readProperty(String propertyName){
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
-        log.info("reading property by using propertyName as input");
         propertyName = Objects.requireNonNullElse(propertyName, "");
         if (propertyName.equals("")){
             log.error("invalid property name #"+ propertyName);
             throw new RuntimeException("please enter valid property name");
         }
-        loadProperties();
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
-        return this.properties.getProperty(propertyName);
+        return AgentConfig.current().getString(propertyName);
     }
 
     /**
@@ -61,10 +48,10 @@ public class PropertyReader implements IPropertyReader{
     public List<String> getProperties(String[] propertyNames){
         StopWatch stopWatch = new StopWatch();
         stopWatch.start();
-        loadProperties();
+        AgentConfig config = AgentConfig.current();
         List<String> properties = new ArrayList<>();
         for (String propertyName: propertyNames){
-            String value = this.properties.getProperty(propertyName);
+            String value = config.getString(propertyName);
             if (value != null && !value.equals("")) {
                 properties.add(value);
             }else{
@@ -80,23 +67,11 @@ public class PropertyReader implements IPropertyReader{
     }
 
     /**
-     * Loads all properties into global variable
-     * @return a Properties object that contains all property key value pairs
+     * Returns all properties of the current configuration
+     * @return a copy of the Properties that contains all property key value pairs
      */
     @Override
     public Properties loadProperties(){
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
-        try {
-            this.properties.load(PropertyReader.class.getResourceAsStream("/application.properties"));
-        } catch (IOException e) {
-            log.error(e.toString());
-            throw new RuntimeException(e);
-        }
-        log.info("loading properties and returning them");
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
-        return this.properties;
+        return AgentConfig.current().toProperties();
     }
 }
\ No newline at end of file
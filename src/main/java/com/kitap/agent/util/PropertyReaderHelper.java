@@ -7,18 +7,15 @@ import org.springframework.util.StopWatch;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.Properties;
 
 /**
- * This class will do loading properties from Property reader class and holds those values in a variable
- *       And provides information when ever requested instead of reading values from application.properties file
- *       all the time.
+ * This class provides the properties of the current AgentConfig snapshot when ever requested instead of
+ *       reading values from application.properties file all the time.
  *       Holds information and references of classes and information which required over the project.
  * @author KT1450
  */
 @Slf4j
 public class PropertyReaderHelper {
-    static final private Properties properties = new PropertyReader().loadProperties();
     static final public MachineInformation machineInformation = new MachineInformation();
 
     /**
@@ -27,19 +24,20 @@ public class PropertyReaderHelper {
      * @return  property value(String)
      */
     public static String getProperty(String propertyName){
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
-        log.info("getting property by using propertyName as input");
         propertyName = Objects.requireNonNullElse(propertyName, "");
         if (propertyName.equals("")){
             log.error("invalid property name #"+ propertyName);
             throw new RuntimeException("please enter valid property name");
         }
-        log.info("returning the property value");
-        stopWatch.stop();
-        log.info("Execution time for "+new Object(){}.getClass().getEnclosingMethod().getName()+
-                " method is "+String.format("%.2f",stopWatch.getTotalTimeSeconds())+" seconds");
-        return properties.getProperty(propertyName);
+        return AgentConfig.current().getString(propertyName);
+    }
+
+    /**
+     * Method returns the current configuration snapshot for the typed accessors
+     * @return configuration snapshot
+     */
+    public static AgentConfig config(){
+        return AgentConfig.current();
     }
 
     /**
@@ -51,9 +49,10 @@ public class PropertyReaderHelper {
         StopWatch stopWatch = new StopWatch();
         stopWatch.start();
         log.info("getting properties by using array of propertyNames as input");
+        AgentConfig config = AgentConfig.current();
         List<String> properties = new ArrayList<>();
         for (String propertyName: propertyNames){
-            String value = PropertyReaderHelper.properties.getProperty(propertyName);
+            String value = config.getString(propertyName);
             if (value != null && !value.equals("")) {
                 properties.add(value);
             }else{
@@ -73,6 +72,6 @@ public class PropertyReaderHelper {
      * @param value value of the property to be updated
      */
     public static void updateIsServerLessPropertyValue(boolean value){
-         properties.setProperty("isServerLess", String.valueOf(value));
+         AgentConfig.override("isServerLess", String.valueOf(value));
     }
 }
\ No newline at end of file
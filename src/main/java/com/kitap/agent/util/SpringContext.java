@@ -0,0 +1,39 @@
+package com.kitap.agent.util;
+
+import org.springframework.beans.BeansException;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gives the classes created with new, like the JavaFX controllers and the api calls,
+ * access to the shared spring beans
+ * @author KT1450
+ */
+@Component
+public class SpringContext implements ApplicationContextAware {
+    private static volatile ApplicationContext context;
+
+    /**
+     * Keeps the application context, called by spring when the context is created
+     * @param applicationContext application context
+     */
+    @Override
+    public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
+        context = applicationContext;
+    }
+
+    /**
+     * Method returns the bean of given type
+     * @param type type of the bean
+     * @return bean
+     * @throws IllegalStateException when the application context is not started yet
+     */
+    public static <T> T getBean(Class<T> type) {
+        ApplicationContext current = context;
+        if (current == null) {
+            throw new IllegalStateException("application context is not started, " + type.getSimpleName() + " is not available");
+        }
+        return current.getBean(type);
+    }
+}
@@ -0,0 +1,36 @@
+package com.kitap.agent.execute;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests of the count based shard planner
+ * @author KT1450
+ */
+class CountShardPlannerTest {
+    private final CountShardPlanner planner = new CountShardPlanner();
+
+    @Test
+    void distributesTheTestClassesInRoundRobinOrder() {
+        List<List<String>> plan = planner.plan(List.of("a", "b", "c", "d", "e"), 2);
+
+        assertEquals(List.of(List.of("a", "c", "e"), List.of("b", "d")), plan);
+    }
+
+    @Test
+    void doesNotReturnEmptyShardsWhenThereAreMoreShardsThanTestClasses() {
+        List<List<String>> plan = planner.plan(List.of("a", "b"), 4);
+
+        assertEquals(List.of(List.of("a"), List.of("b")), plan);
+    }
+
+    @Test
+    void usesASingleShardForAShardCountBelowOne() {
+        List<List<String>> plan = planner.plan(List.of("a", "b"), 0);
+
+        assertEquals(List.of(List.of("a", "b")), plan);
+    }
+}
@@ -0,0 +1,76 @@
+package com.kitap.agent.execute;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of the duration based shard planner
+ * @author KT1450
+ */
+class DurationShardPlannerTest {
+
+    private static long durationOf(List<String> shard, Map<String, Long> durations) {
+        return shard.stream().mapToLong(durations::get).sum();
+    }
+
+    @Test
+    void packsLongestTestClassesFirstIntoTheShortestShard() {
+        Map<String, Long> durations = Map.of("a", 70L, "b", 50L, "c", 40L, "d", 30L, "e", 10L);
+        DurationShardPlanner planner = new DurationShardPlanner(durations, 1);
+
+        List<List<String>> plan = planner.plan(List.of("e", "d", "c", "b", "a"), 2);
+
+        assertEquals(List.of(List.of("a", "d"), List.of("b", "c", "e")), plan);
+        assertEquals(100, durationOf(plan.get(0), durations));
+        assertEquals(100, durationOf(plan.get(1), durations));
+    }
+
+    @Test
+    void usesTheDefaultDurationForTestClassesWithoutHistory() {
+        DurationShardPlanner planner = new DurationShardPlanner(Map.of("known", 100L), 60);
+
+        List<List<String>> plan = planner.plan(List.of("unknownOne", "known", "unknownTwo"), 2);
+
+        assertEquals(List.of(List.of("known"), List.of("unknownOne", "unknownTwo")), plan);
+    }
+
+    @Test
+    void matchesFullyQualifiedNamesWithTheRecordedSimpleNames() {
+        DurationShardPlanner planner = new DurationShardPlanner(
+                Map.of(DurationShardPlanner.normalize("LoginTest"), 500L), 10);
+
+        List<List<String>> plan = planner.plan(List.of("com.kitap.tests.SearchTest", "com.kitap.tests.LoginTest",
+                "com.kitap.tests.CartTest"), 2);
+
+        assertEquals(List.of("com.kitap.tests.LoginTest"), plan.get(0));
+    }
+
+    @Test
+    void normalizesPackageCaseAndSeparators() {
+        assertEquals("logintest", DurationShardPlanner.normalize("com.kitap.tests.LoginTest"));
+        assertEquals("logintest", DurationShardPlanner.normalize("LoginTest"));
+        assertEquals("outerinnertest", DurationShardPlanner.normalize("com.kitap.Outer$Inner_Test"));
+    }
+
+    @Test
+    void doesNotReturnEmptyShardsWhenThereAreMoreShardsThanTestClasses() {
+        DurationShardPlanner planner = new DurationShardPlanner(Map.of(), 10);
+
+        List<List<String>> plan = planner.plan(List.of("a", "b"), 5);
+
+        assertEquals(2, plan.size());
+        assertTrue(plan.stream().noneMatch(List::isEmpty));
+    }
+
+    @Test
+    void returnsOneEmptyShardWithoutTestClasses() {
+        DurationShardPlanner planner = new DurationShardPlanner(Map.of(), 10);
+
+        assertEquals(List.of(List.of()), planner.plan(List.of(), 3));
+    }
+}
@@ -0,0 +1,51 @@
+package com.kitap.agent.execute;
+
+import com.kitap.agent.util.PropertyReaderHelper;
+import org.junit.jupiter.api.Test;
+
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests of the test filter of the execution helper
+ * @author KT1450
+ */
+class ExecutionHelperTest {
+    private static final String COMMAND = "mvn.cmd verify";
+    private final ExecutionHelper helper = new ExecutionHelper();
+
+    @Test
+    void keepsTheCommandWhenNoTestsAreSelected() {
+        assertSame(COMMAND, helper.withTestFilter(COMMAND, null));
+        assertSame(COMMAND, helper.withTestFilter(COMMAND, List.of()));
+    }
+
+    @Test
+    void appendsTheSelectedTestClassesAndMethods() {
+        String filter = MessageFormat.format(PropertyReaderHelper.getProperty("mavenTestFilter"),
+                "com.kitap.LoginTest,SearchTest#searchBy*,Outer$Inner");
+
+        String command = helper.withTestFilter(COMMAND,
+                List.of("com.kitap.LoginTest", "SearchTest#searchBy*", "Outer$Inner"));
+
+        assertEquals(COMMAND + " " + filter, command);
+    }
+
+    @Test
+    void rejectsTestNamesWhichWouldAddArguments() {
+        for (String test : List.of("Login Test", "LoginTest -Dexec.executable=calc", "LoginTest;calc", "\"LoginTest\"",
+                "Login'Test", "LoginTest,OtherTest", "LoginTest&calc", "")) {
+            assertThrows(IllegalArgumentException.class, () -> helper.withTestFilter(COMMAND, List.of(test)), test);
+        }
+    }
+
+    @Test
+    void rejectsMissingTestNames() {
+        assertThrows(IllegalArgumentException.class, () -> helper.withTestFilter(COMMAND, Arrays.asList("LoginTest", null)));
+    }
+}
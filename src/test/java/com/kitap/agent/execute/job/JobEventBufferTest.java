@@ -0,0 +1,100 @@
+package com.kitap.agent.execute.job;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of the sequencing and the dropped event gaps of the job event buffer
+ * @author KT1450
+ */
+class JobEventBufferTest {
+
+    @Test
+    void returnsTheEventsAfterTheSequenceInPublishingOrder() throws InterruptedException {
+        JobEventBuffer buffer = new JobEventBuffer(10);
+        buffer.publish(JobEventType.STATUS, "RUNNING", null, null);
+        buffer.publish(JobEventType.OUTPUT, "line", null, null);
+        buffer.publish(JobEventType.TEST_STARTED, "started", "login", null);
+
+        List<JobEvent> events = buffer.after(1, 10);
+
+        assertEquals(List.of(2L, 3L), sequences(events));
+        assertEquals(List.of(JobEventType.OUTPUT, JobEventType.TEST_STARTED), types(events));
+    }
+
+    @Test
+    void returnsAGapForEventsDroppedBeforeTheFirstRead() throws InterruptedException {
+        JobEventBuffer buffer = new JobEventBuffer(2);
+        for (int i = 0; i < 3; i++) {
+            buffer.publish(JobEventType.OUTPUT, "line " + i, null, null);
+        }
+
+        List<JobEvent> events = buffer.after(0, 10);
+
+        assertEquals(List.of(JobEventType.GAP, JobEventType.OUTPUT, JobEventType.OUTPUT), types(events));
+        assertEquals(List.of(1L, 2L, 3L), sequences(events));
+        assertEquals("1 events dropped", events.get(0).getMessage());
+    }
+
+    @Test
+    void returnsAGapForEventsDroppedAfterTheReadSequence() throws InterruptedException {
+        JobEventBuffer buffer = new JobEventBuffer(2);
+        for (int i = 0; i < 5; i++) {
+            buffer.publish(JobEventType.OUTPUT, "line " + i, null, null);
+        }
+
+        List<JobEvent> events = buffer.after(1, 10);
+
+        assertEquals(List.of(JobEventType.GAP, JobEventType.OUTPUT, JobEventType.OUTPUT), types(events));
+        assertEquals(List.of(3L, 4L, 5L), sequences(events));
+        assertEquals("2 events dropped", events.get(0).getMessage());
+    }
+
+    @Test
+    void keepsTheTestEventsWhenTheOutputLinesAreDropped() throws InterruptedException {
+        JobEventBuffer buffer = new JobEventBuffer(2);
+        buffer.publish(JobEventType.TEST_STARTED, "started", "login", null);
+        for (int i = 0; i < 3; i++) {
+            buffer.publish(JobEventType.OUTPUT, "line " + i, null, null);
+        }
+        buffer.publish(JobEventType.TEST_FINISHED, "passed", "login", "PASSED");
+
+        List<JobEvent> events = buffer.after(0, 10);
+
+        assertEquals(List.of(JobEventType.TEST_STARTED, JobEventType.GAP, JobEventType.OUTPUT,
+                JobEventType.OUTPUT, JobEventType.TEST_FINISHED), types(events));
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), sequences(events));
+    }
+
+    @Test
+    void returnsNothingWhenAllTheEventsWereRead() throws InterruptedException {
+        JobEventBuffer buffer = new JobEventBuffer(2);
+        buffer.publish(JobEventType.OUTPUT, "line", null, null);
+
+        assertTrue(buffer.after(1, 10).isEmpty());
+    }
+
+    @Test
+    void ignoresTheEventsPublishedAfterClosing() throws InterruptedException {
+        JobEventBuffer buffer = new JobEventBuffer(2);
+        buffer.publish(JobEventType.STATUS, "COMPLETED", null, null);
+        buffer.close();
+        buffer.publish(JobEventType.OUTPUT, "late line", null, null);
+
+        assertEquals(List.of(1L), sequences(buffer.after(0, 10)));
+        assertTrue(buffer.after(1, 10).isEmpty());
+        assertTrue(buffer.isClosed());
+    }
+
+    private static List<Long> sequences(List<JobEvent> events) {
+        return events.stream().map(JobEvent::getSequence).toList();
+    }
+
+    private static List<JobEventType> types(List<JobEvent> events) {
+        return events.stream().map(JobEvent::getType).toList();
+    }
+}
@@ -0,0 +1,85 @@
+package com.kitap.agent.execute.job;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests of the test events parsed from the serenity and surefire output lines
+ * @author KT1450
+ */
+class TestEventParserTest {
+    private final JobEventBuffer buffer = new JobEventBuffer(10);
+    private final TestEventParser parser = new TestEventParser(buffer);
+
+    @Test
+    void publishesOnlyTheOutputForAPlainLine() throws InterruptedException {
+        parser.accept("[INFO] Building kitap-tests 1.0");
+
+        List<JobEvent> events = buffer.after(0, 10);
+
+        assertEquals(1, events.size());
+        assertEquals(JobEventType.OUTPUT, events.get(0).getType());
+        assertEquals("[INFO] Building kitap-tests 1.0", events.get(0).getMessage());
+    }
+
+    @Test
+    void publishesAStartedTestFromTheSerenityReporter() throws InterruptedException {
+        parser.accept("[main] INFO  - TEST STARTED: user can log in ");
+
+        List<JobEvent> events = buffer.after(0, 10);
+
+        assertEquals(List.of(JobEventType.OUTPUT, JobEventType.TEST_STARTED), types(events));
+        assertEquals("user can log in", events.get(1).getTestName());
+        assertNull(events.get(1).getResult());
+    }
+
+    @Test
+    void publishesAFinishedTestWithItsResultFromTheSerenityReporter() throws InterruptedException {
+        parser.accept("[main] INFO  - TEST FAILED: user can log in");
+
+        List<JobEvent> events = buffer.after(0, 10);
+
+        assertEquals(List.of(JobEventType.OUTPUT, JobEventType.TEST_FINISHED), types(events));
+        assertEquals("user can log in", events.get(1).getTestName());
+        assertEquals("FAILED", events.get(1).getResult());
+    }
+
+    @Test
+    void publishesAPassedClassFromTheSurefireLine() throws InterruptedException {
+        parser.accept("[INFO] Tests run: 2, Failures: 0, Errors: 0, Skipped: 1, Time elapsed: 1.5 s - in com.kitap.SearchTest");
+
+        List<JobEvent> events = buffer.after(0, 10);
+
+        assertEquals(List.of(JobEventType.OUTPUT, JobEventType.CLASS_FINISHED), types(events));
+        assertEquals("com.kitap.SearchTest", events.get(1).getTestName());
+        assertEquals("PASSED", events.get(1).getResult());
+    }
+
+    @Test
+    void publishesAFailedClassWhenTheSurefireLineHasFailuresOrErrors() throws InterruptedException {
+        parser.accept("[ERROR] Tests run: 3, Failures: 1, Errors: 0, Skipped: 0, Time elapsed: 2.1 s <<< FAILURE! - in com.kitap.LoginTest");
+        parser.accept("[ERROR] Tests run: 3, Failures: 0, Errors: 2, Skipped: 0, Time elapsed: 2.1 s <<< ERROR! - in com.kitap.CartTest");
+
+        List<JobEvent> events = buffer.after(0, 10);
+
+        assertEquals("com.kitap.LoginTest", events.get(1).getTestName());
+        assertEquals("FAILED", events.get(1).getResult());
+        assertEquals("com.kitap.CartTest", events.get(3).getTestName());
+        assertEquals("FAILED", events.get(3).getResult());
+    }
+
+    @Test
+    void publishesOnlyTheOutputForTheSurefireSummaryLine() throws InterruptedException {
+        parser.accept("[INFO] Tests run: 5, Failures: 0, Errors: 0, Skipped: 0");
+
+        assertEquals(List.of(JobEventType.OUTPUT), types(buffer.after(0, 10)));
+    }
+
+    private static List<JobEventType> types(List<JobEvent> events) {
+        return events.stream().map(JobEvent::getType).toList();
+    }
+}